@@ -262,8 +262,13 @@ function handleRegister(e) {
 
 // Handle logout
 function handleLogout() {
-    localStorage.removeItem('user');
-    window.location.href = 'index.html';
+    // Revoke the token server-side; log out locally even if that fails
+    axios.post(`${API_BASE_URL}/users/logout`)
+        .catch(error => console.warn('Logout request failed:', error))
+        .finally(() => {
+            localStorage.removeItem('user');
+            window.location.href = 'index.html';
+        });
 }
 
 // Load user's reservations on the home page
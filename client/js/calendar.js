@@ -5,7 +5,11 @@ let currentDate = new Date();
 let currentUser = null;
 let selectedDate = null;
 let selectedSlotNumber = null;
+let reservationRequestKey = null; // Idempotency-Key reused by every retry of the open booking
+let heldSlot = null; // {venue, date, slotNumber} held for the current user while the booking form is open
 let reservations = [];
+let currentVenue = null; // Venue shown in the calendar, set once its schedule is loaded
+let schedules = {}; // Slot layout of each venue by id, as returned by /slots/schedule
 
 // Function to check if calendar is visible and render it if needed
 function checkAndRenderCalendar() {
@@ -75,6 +79,9 @@ document.addEventListener("DOMContentLoaded", function() {
         console.log("Fetching user info...");
         fetchUserInfo();
 
+        // Offer a venue picker when more than one venue is configured
+        loadVenues();
+
         // Render the calendar
         console.log("Rendering calendar...");
         renderCalendar();
@@ -86,8 +93,8 @@ document.addEventListener("DOMContentLoaded", function() {
         // Set up a check to ensure calendar is rendered after a short delay
         setTimeout(checkAndRenderCalendar, 1000);
 
-        // Set up periodic checks to ensure calendar is rendered
-        setInterval(checkAndRenderCalendar, 5000);
+        // Apply slot changes pushed by the server instead of polling
+        subscribeToSlotChanges();
 
         // Add a visibility change listener to re-render calendar if needed when tab becomes visible
         document.addEventListener('visibilitychange', function() {
@@ -122,6 +129,60 @@ document.addEventListener("DOMContentLoaded", function() {
     }
 });
 
+// Subscribe to server-sent slot deltas; EventSource reconnects on its own after errors
+function subscribeToSlotChanges() {
+    if (!window.EventSource) {
+        console.warn("EventSource not supported, falling back to periodic checks");
+        setInterval(checkAndRenderCalendar, 5000);
+        return;
+    }
+
+    const source = new EventSource(`${window.API_BASE_URL}/slots/stream`);
+    source.addEventListener("slot", event => applySlotDelta(JSON.parse(event.data)));
+    source.onerror = () => console.warn("Slot event stream interrupted, reconnecting...");
+}
+
+// Apply a single {venue, date, slotNumber, booked} change to the rendered calendar
+function applySlotDelta(delta) {
+    console.log("Slot delta received:", delta);
+
+    if (delta.venue !== currentVenue) {
+        return; // Another venue than the one shown
+    }
+
+    const matches = res => res.date === delta.date && res.slotNumber === delta.slotNumber;
+    if (delta.booked) {
+        if (!reservations.some(matches)) {
+            reservations.push({ venue: delta.venue, date: delta.date, slotNumber: delta.slotNumber });
+        }
+    } else {
+        reservations = reservations.filter(res => !matches(res));
+    }
+
+    const slot = document.querySelector(
+        `.calendar-event[data-date="${delta.date}"][data-slot-number="${delta.slotNumber}"]`);
+    if (!slot) {
+        return; // Not in the visible month
+    }
+
+    const label = slot.textContent.replace(" (Booked)", "").trim();
+    if (delta.booked) {
+        slot.classList.remove("available");
+        slot.classList.add("booked");
+        slot.textContent = label + " (Booked)";
+        slot.style.backgroundColor = "rgba(252, 165, 165, 0.2)";
+        slot.style.border = "1px solid rgb(239, 68, 68)";
+        slot.style.color = "rgb(153, 27, 27)";
+    } else {
+        slot.classList.remove("booked");
+        slot.classList.add("available");
+        slot.textContent = label;
+        slot.style.backgroundColor = "rgba(74, 222, 128, 0.2)";
+        slot.style.border = "1px solid rgb(34, 197, 94)";
+        slot.style.color = "rgb(22, 101, 52)";
+    }
+}
+
 // Check if an element is in the viewport
 function isElementInViewport(el) {
     const rect = el.getBoundingClientRect();
@@ -196,12 +257,39 @@ function updateUserUI() {
 
 // Handle logout
 function handleLogout() {
-    localStorage.removeItem('user');
-    location.reload();
+    // Revoke the token server-side; log out locally even if that fails
+    axios.post(`${window.API_BASE_URL}/users/logout`)
+        .catch(error => console.warn("Logout request failed:", error))
+        .finally(() => {
+            localStorage.removeItem('user');
+            location.reload();
+        });
 }
 
 // Render the calendar for the current month - Simplified approach
 function renderCalendar() {
+    const schedule = schedules[currentVenue];
+    if (!schedule) {
+        // The slot layout comes from the server, so fetch it before drawing any day
+        loadSchedule(currentVenue)
+            .then(loaded => {
+                currentVenue = loaded.venue;
+                renderCalendar();
+            })
+            .catch(error => {
+                console.error("Failed to load the slot schedule", error);
+                const calendarDays = document.getElementById("calendarDays");
+                if (calendarDays) {
+                    calendarDays.innerHTML = `
+                        <div style="padding: 20px; text-align: center; color: #e53e3e; grid-column: span 7;">
+                            <p>Could not load the available time slots. Please try refreshing the page.</p>
+                        </div>
+                    `;
+                }
+            });
+        return;
+    }
+
     try {
         console.clear(); // Clear console for better debugging
         console.log("%c CALENDAR RENDERING STARTED ", "background: #5a2c82; color: white; padding: 4px; border-radius: 4px;");
@@ -270,34 +358,21 @@ function renderCalendar() {
             // Format the date string for the slots
             const dateString = `${year}-${String(month + 1).padStart(2, '0')}-${String(day).padStart(2, '0')}`;
 
-            // Create the day cell with its slots
-            calendarHTML += `
-                <div class="calendar-day ${todayClass}" style="border: 1px solid #ddd; padding: 8px; min-height: 120px; background-color: #fff; border-radius: 4px; ${todayStyle}">
-                    <div class="calendar-day-number" style="font-weight: bold; margin-bottom: 8px; font-size: 1.1rem; color: #5a2c82;">${day}</div>
-
-                    <!-- Morning slot (8-12) -->
-                    <div class="calendar-event available" 
-                         data-date="${dateString}" 
-                         data-slot-number="0" 
-                         style="background-color: rgba(74, 222, 128, 0.2); border: 1px solid rgb(34, 197, 94); color: rgb(22, 101, 52); padding: 8px; border-radius: 4px; margin-bottom: 8px; cursor: pointer; text-align: center; font-weight: 500; display: block; width: 100%;">
-                        8:00 - 12:00
-                    </div>
-
-                    <!-- Afternoon slot (13-17) -->
+            // Create the day cell with the venue's slots, or a closed notice
+            const slotsHTML = isOpenOn(schedule, dateString)
+                ? schedule.slots.map(slotWindow => `
                     <div class="calendar-event available" 
                          data-date="${dateString}" 
-                         data-slot-number="1" 
+                         data-slot-number="${slotWindow.slotNumber}" 
                          style="background-color: rgba(74, 222, 128, 0.2); border: 1px solid rgb(34, 197, 94); color: rgb(22, 101, 52); padding: 8px; border-radius: 4px; margin-bottom: 8px; cursor: pointer; text-align: center; font-weight: 500; display: block; width: 100%;">
-                        13:00 - 17:00
-                    </div>
+                        ${formatWindow(slotWindow)}
+                    </div>`).join("")
+                : `<div class="calendar-closed" style="color: #9ca3af; text-align: center; padding: 8px;">Closed</div>`;
 
-                    <!-- Evening slot (18-22) -->
-                    <div class="calendar-event available" 
-                         data-date="${dateString}" 
-                         data-slot-number="2" 
-                         style="background-color: rgba(74, 222, 128, 0.2); border: 1px solid rgb(34, 197, 94); color: rgb(22, 101, 52); padding: 8px; border-radius: 4px; margin-bottom: 8px; cursor: pointer; text-align: center; font-weight: 500; display: block; width: 100%;">
-                        18:00 - 22:00
-                    </div>
+            calendarHTML += `
+                <div class="calendar-day ${todayClass}" style="border: 1px solid #ddd; padding: 8px; min-height: 120px; background-color: #fff; border-radius: 4px; ${todayStyle}">
+                    <div class="calendar-day-number" style="font-weight: bold; margin-bottom: 8px; font-size: 1.1rem; color: #5a2c82;">${day}</div>
+                    ${slotsHTML}
                 </div>
             `;
         }
@@ -364,6 +439,61 @@ function renderCalendar() {
 // Time slots are now created directly in the renderCalendar function using HTML strings
 // for better performance and reliability.
 
+// Fetch a venue's slot layout once, or the default venue's when none is given
+async function loadSchedule(venue) {
+    if (venue && schedules[venue]) {
+        return schedules[venue];
+    }
+    const response = await axios.get(`${window.API_BASE_URL}/slots/schedule`, { params: { venue: venue } });
+    schedules[response.data.venue] = response.data;
+    return response.data;
+}
+
+// Fill the venue picker; it stays hidden while there is a single venue
+async function loadVenues() {
+    try {
+        const response = await axios.get(`${window.API_BASE_URL}/slots/venues`);
+        response.data.forEach(schedule => schedules[schedule.venue] = schedule);
+
+        const select = document.getElementById("venueSelect");
+        if (!select || response.data.length < 2) {
+            return;
+        }
+        select.innerHTML = response.data
+            .map(schedule => `<option value="${schedule.venue}">${schedule.venue}</option>`)
+            .join("");
+        select.value = currentVenue || response.data[0].venue;
+        select.classList.remove("hidden");
+        select.addEventListener("change", () => {
+            closeReservationModal();
+            currentVenue = select.value;
+            renderCalendar();
+        });
+    } catch (error) {
+        console.warn("Could not load the venues", error);
+    }
+}
+
+// "08:00:00" -> "8:00"; a window ending at midnight comes back as 23:59:59.999999999
+function formatTime(time) {
+    if (time.startsWith("23:59:59")) {
+        return "24:00";
+    }
+    const [hours, minutes] = time.split(":");
+    return `${parseInt(hours, 10)}:${minutes}`;
+}
+
+function formatWindow(slotWindow) {
+    return `${formatTime(slotWindow.start)} - ${formatTime(slotWindow.end)}`;
+}
+
+// Mirrors the server: no slots on the venue's closed weekdays and blackout dates
+function isOpenOn(schedule, dateString) {
+    const weekdays = ["SUNDAY", "MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY"];
+    const weekday = weekdays[new Date(`${dateString}T00:00:00`).getDay()];
+    return !schedule.closedDays.includes(weekday) && !schedule.blackoutDates.includes(dateString);
+}
+
 // Show the reservation modal
 function showReservationModal(date, slotNumber, timeText) {
     const modal = document.getElementById("reservationForm");
@@ -372,6 +502,7 @@ function showReservationModal(date, slotNumber, timeText) {
     // Store the selected date and slot
     selectedDate = date;
     selectedSlotNumber = slotNumber;
+    reservationRequestKey = newRequestKey();
 
     // Update the form with the selected date and time
     document.getElementById("slotDate").value = date;
@@ -385,15 +516,59 @@ function showReservationModal(date, slotNumber, timeText) {
         loginPrompt.classList.remove("hidden");
     } else {
         loginPrompt.classList.add("hidden");
+        holdSlot(date, slotNumber);
+    }
+}
+
+// Keep the slot for this user while they fill in the form, so nobody else books it meanwhile
+async function holdSlot(date, slotNumber) {
+    const venue = currentVenue;
+    try {
+        const response = await axios.post(`${window.API_BASE_URL}/slots/${date}/${slotNumber}/hold`, null,
+            { params: { venue: venue } });
+        console.log("Slot held until", response.data.expiresAt);
+        heldSlot = { venue: venue, date: date, slotNumber: slotNumber };
+        if (selectedDate !== date || selectedSlotNumber !== slotNumber) {
+            releaseHeldSlot(); // The form was closed while the hold was on its way
+        }
+    } catch (error) {
+        if (error.response?.status === 409) {
+            closeReservationModal();
+            loadReservations();
+            alert("Someone else is booking this time slot right now. Please pick another one.");
+        } else {
+            console.warn("Could not hold the slot, booking without a hold", error);
+        }
     }
 }
 
+// Give the slot back when the form is closed without booking
+function releaseHeldSlot() {
+    if (!heldSlot) {
+        return;
+    }
+    const { venue, date, slotNumber } = heldSlot;
+    heldSlot = null;
+    axios.delete(`${window.API_BASE_URL}/slots/${date}/${slotNumber}/hold`, { params: { venue: venue } })
+        .catch(error => console.warn("Could not release the held slot", error));
+}
+
 // Close the reservation modal
 function closeReservationModal() {
     const modal = document.getElementById("reservationForm");
     modal.classList.add("hidden");
+    releaseHeldSlot();
     selectedDate = null;
     selectedSlotNumber = null;
+    reservationRequestKey = null;
+}
+
+// Random key identifying one booking attempt, so retried submits are not booked twice
+function newRequestKey() {
+    if (window.crypto && typeof window.crypto.randomUUID === "function") {
+        return window.crypto.randomUUID();
+    }
+    return Date.now().toString(36) + "-" + Math.random().toString(36).slice(2);
 }
 
 // Make a reservation
@@ -427,7 +602,8 @@ async function makeReservation() {
         gender: document.querySelector('input[name="gender"]:checked').value,
         bringOwnFood: document.getElementById("bringOwnFood").checked,
         decorations: document.getElementById("decorationStyle").value,  // Changed from decorationStyle
-        music: document.getElementById("musicType").value               // Changed from musicType
+        music: document.getElementById("musicType").value,              // Changed from musicType
+        venue: currentVenue
     };
 
     console.log("Making reservation with data:", data);
@@ -437,7 +613,8 @@ async function makeReservation() {
         const config = {
             headers: {
                 'Content-Type': 'application/json',
-                'Authorization': `Bearer ${token}`
+                'Authorization': `Bearer ${token}`,
+                'Idempotency-Key': reservationRequestKey
             }
         };
         console.log("Request config:", config);
@@ -445,6 +622,7 @@ async function makeReservation() {
         const response = await axios.post(`${window.API_BASE_URL}/reservations`, data, config);
         console.log("Reservation successful:", response);
 
+        heldSlot = null; // The hold became the reservation
         closeReservationModal();
         loadReservations();
         loadUserReservations();
@@ -478,11 +656,18 @@ async function loadReservations() {
 
         console.log(`Fetching reservations for date range: ${formattedStartDate} to ${formattedEndDate}`);
 
-        // Fetch reservations for the date range
-        // Using a simple approach without date filtering for now
-        const response = await axios.get(`${window.API_BASE_URL}/reservations`);
-        console.log("Reservations response:", response.data);
-        reservations = response.data;
+        // Fetch only the visible month, following the page cursor until the last page
+        const monthReservations = [];
+        let cursor = null;
+        do {
+            const response = await axios.get(`${window.API_BASE_URL}/reservations/page`, {
+                params: { startDate: formattedStartDate, endDate: formattedEndDate, cursor: cursor, venue: currentVenue }
+            });
+            console.log("Reservations page response:", response.data);
+            monthReservations.push(...response.data.items);
+            cursor = response.data.nextCursor;
+        } while (cursor);
+        reservations = monthReservations;
 
         // Update the calendar with the reservations
         updateCalendarWithReservations();
@@ -601,6 +786,10 @@ async function loadUserReservations() {
 
         console.log(`Received ${userReservations ? userReservations.length : 0} user reservations`);
 
+        // Time ranges come from each venue's layout, so make sure those are loaded
+        const venues = [...new Set((userReservations || []).map(res => res.venue))];
+        await Promise.all(venues.map(venue => loadSchedule(venue).catch(() => null)));
+
         const container = document.getElementById("calendarReservations");
         if (!container) {
             console.error("Element with ID 'calendarReservations' not found");
@@ -631,21 +820,10 @@ async function loadUserReservations() {
                 item.style.borderRadius = "4px";
                 item.style.border = "1px solid #e5e7eb";
 
-                // Convert slot number to time range
-                let timeRange;
-                switch(res.slotNumber) {
-                    case 0:
-                        timeRange = "8:00 - 12:00";
-                        break;
-                    case 1:
-                        timeRange = "13:00 - 17:00";
-                        break;
-                    case 2:
-                        timeRange = "18:00 - 22:00";
-                        break;
-                    default:
-                        timeRange = "Unknown time";
-                }
+                // Convert slot number to the time range of its venue's layout
+                const slotWindow = schedules[res.venue]?.slots.find(slot => slot.slotNumber === res.slotNumber);
+                const timeRange = slotWindow ? formatWindow(slotWindow) : "Unknown time";
+                const venueLabel = Object.keys(schedules).length > 1 ? `<p>${res.venue}</p>` : "";
 
                 const formattedDate = new Date(res.date).toLocaleDateString();
 
@@ -654,6 +832,7 @@ async function loadUserReservations() {
                         <div>
                             <p style="font-weight: bold; margin-bottom: 0.25rem;">${formattedDate}</p>
                             <p>${timeRange}</p>
+                            ${venueLabel}
                         </div>
                         <button class="button" style="background-color: #e53e3e; padding: 0.25rem 0.5rem;" onclick="cancelCalendarReservation(${res.id})">Cancel</button>
                     </div>
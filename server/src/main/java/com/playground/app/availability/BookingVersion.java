@@ -0,0 +1,76 @@
+package com.playground.app.availability;
+
+import com.playground.app.event.SlotChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic counter of committed booking changes, also tracked per month, used to build ETags.
+ * Read the version before reading the data it describes: a change in between then only costs
+ * the client one extra download instead of caching stale data under a fresh tag.
+ */
+@Component
+public class BookingVersion {
+
+    // Derived from the start time so tags issued before a restart never match again
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+    private final AtomicLong version = new AtomicLong();
+    private final Map<Integer, Long> monthVersions = new ConcurrentHashMap<>();
+    private volatile long lastModified = System.currentTimeMillis();
+
+    @TransactionalEventListener
+    public void onSlotChanged(SlotChangedEvent event) {
+        bump(YearMonth.from(event.getDate()));
+    }
+
+    public void bump(YearMonth month) {
+        long next = version.incrementAndGet();
+        monthVersions.merge(monthKey(month), next, Math::max);
+        lastModified = System.currentTimeMillis();
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Latest version of any month touching the range
+     */
+    public long forRange(LocalDate startDate, LocalDate endDate) {
+        int first = monthKey(YearMonth.from(startDate));
+        int last = monthKey(YearMonth.from(endDate));
+        if (last - first > monthVersions.size()) {
+            long latest = 0;
+            for (Map.Entry<Integer, Long> entry : monthVersions.entrySet()) {
+                if (entry.getKey() >= first && entry.getKey() <= last) {
+                    latest = Math.max(latest, entry.getValue());
+                }
+            }
+            return latest;
+        }
+
+        long latest = 0;
+        for (int month = first; month <= last; month++) {
+            latest = Math.max(latest, monthVersions.getOrDefault(month, 0L));
+        }
+        return latest;
+    }
+
+    public String etag(String resource, long version) {
+        return "\"" + resource + "-" + epoch + "-" + version + "\"";
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+}
@@ -0,0 +1,89 @@
+package com.playground.app.availability;
+
+import com.playground.app.exception.BookingOutOfRangeException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Dates the application deals with: slots can be booked up to {@code maxDaysAhead} days from today,
+ * and availability is tracked from {@code historyDays} days back to that horizon. Keeping every
+ * date inside this window bounds the memory of the availability index.
+ */
+@Component
+public class BookingWindow {
+
+    private final int maxDaysAhead;
+    private final int historyDays;
+    private final Clock clock;
+
+    @Autowired
+    public BookingWindow(@Value("${booking.max-days-ahead:365}") int maxDaysAhead,
+                         @Value("${booking.history-days:730}") int historyDays) {
+        this(maxDaysAhead, historyDays, Clock.systemDefaultZone());
+    }
+
+    public BookingWindow(int maxDaysAhead, int historyDays, Clock clock) {
+        if (maxDaysAhead < 0 || historyDays < 0) {
+            throw new IllegalArgumentException("Booking window sizes must not be negative");
+        }
+        this.maxDaysAhead = maxDaysAhead;
+        this.historyDays = historyDays;
+        this.clock = clock;
+    }
+
+    public LocalDate getFirstTrackedDate() {
+        return LocalDate.now(clock).minusDays(historyDays);
+    }
+
+    public LocalDate getLastBookableDate() {
+        return LocalDate.now(clock).plusDays(maxDaysAhead);
+    }
+
+    /**
+     * Whether availability of the day is kept in memory
+     */
+    public boolean isTracked(long epochDay) {
+        LocalDate today = LocalDate.now(clock);
+        return epochDay >= today.toEpochDay() - historyDays && epochDay <= today.toEpochDay() + maxDaysAhead;
+    }
+
+    /**
+     * @throws BookingOutOfRangeException if the date is further ahead than bookings are taken
+     */
+    public void checkBookable(LocalDate date) {
+        if (date.isAfter(getLastBookableDate())) {
+            throw new BookingOutOfRangeException("Reservations can be made at most " + maxDaysAhead + " days ahead");
+        }
+    }
+
+    /**
+     * The part of a read range that lies inside the tracked dates, or null if none of it does.
+     * Days outside the window have nothing to show, so reads are clamped instead of refused.
+     *
+     * @throws BookingOutOfRangeException if the range is reversed or longer than the whole window
+     */
+    public Range clamp(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BookingOutOfRangeException("The end date must not be before the start date");
+        }
+        if (endDate.toEpochDay() - startDate.toEpochDay() >= historyDays + maxDaysAhead + 1L) {
+            throw new BookingOutOfRangeException("A range can span at most " + (historyDays + maxDaysAhead + 1) + " days");
+        }
+        LocalDate first = getFirstTrackedDate();
+        LocalDate last = getLastBookableDate();
+        if (endDate.isBefore(first) || startDate.isAfter(last)) {
+            return null;
+        }
+        return new Range(startDate.isBefore(first) ? first : startDate, endDate.isAfter(last) ? last : endDate);
+    }
+
+    /**
+     * Inclusive range of dates
+     */
+    public record Range(LocalDate start, LocalDate end) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.playground.app.availability;
+
+import com.playground.app.model.dto.SlotDTO;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Immutable copy of one month of a venue in the availability index: a booked-slot bitmask per day,
+ * the ids of the booked slots and the days on which the schedule is closed.
+ * Safe to share between threads without locking.
+ */
+public final class MonthAvailability {
+
+    private final String venue;
+    private final YearMonth month;
+    private final int slotsPerDay;
+    private final int fullMask;
+    private final int[] masks;
+    private final long[] slotIds;
+    private final int closedDays;
+
+    MonthAvailability(Venue venue, YearMonth month, int[] masks, long[] slotIds, int closedDays) {
+        this.venue = venue.getId();
+        this.month = month;
+        this.slotsPerDay = venue.getSchedule().getSlotsPerDay();
+        this.fullMask = venue.getSchedule().getFullMask();
+        this.masks = masks;
+        this.slotIds = slotIds;
+        this.closedDays = closedDays;
+    }
+
+    public String getVenue() {
+        return venue;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    /**
+     * Booked-slot bitmask of the given day, which must fall inside this month
+     */
+    public int maskAt(LocalDate date) {
+        return masks[date.getDayOfMonth() - 1];
+    }
+
+    /**
+     * Copies the masks of the days this month shares with the range into {@code target},
+     * where position 0 is {@code startDate}. Available masks are empty on closed days.
+     */
+    void copyMasks(int[] target, LocalDate startDate, LocalDate endDate, boolean available) {
+        int first = firstDay(startDate);
+        int last = lastDay(endDate);
+        int offset = (int) (month.atDay(first + 1).toEpochDay() - startDate.toEpochDay()) - first;
+        for (int day = first; day <= last; day++) {
+            target[offset + day] = available ? availableMask(day) : masks[day];
+        }
+    }
+
+    void addAvailable(List<SlotDTO> slots, LocalDate startDate, LocalDate endDate) {
+        int last = lastDay(endDate);
+        for (int day = firstDay(startDate); day <= last; day++) {
+            int mask = availableMask(day);
+            if (mask == 0) {
+                continue;
+            }
+            LocalDate date = month.atDay(day + 1);
+            for (int slotNumber = 0; slotNumber < slotsPerDay; slotNumber++) {
+                if ((mask & (1 << slotNumber)) != 0) {
+                    slots.add(new SlotDTO(null, date, slotNumber, true, venue));
+                }
+            }
+        }
+    }
+
+    void addBooked(List<SlotDTO> slots, LocalDate startDate, LocalDate endDate) {
+        int last = lastDay(endDate);
+        for (int day = firstDay(startDate); day <= last; day++) {
+            int mask = masks[day];
+            if (mask == 0) {
+                continue;
+            }
+            LocalDate date = month.atDay(day + 1);
+            for (int slotNumber = 0; slotNumber < slotsPerDay; slotNumber++) {
+                if ((mask & (1 << slotNumber)) != 0) {
+                    slots.add(new SlotDTO(slotIds[day * slotsPerDay + slotNumber], date, slotNumber, false, venue));
+                }
+            }
+        }
+    }
+
+    private int availableMask(int day) {
+        return (closedDays & (1 << day)) != 0 ? 0 : ~masks[day] & fullMask;
+    }
+
+    private int firstDay(LocalDate startDate) {
+        return YearMonth.from(startDate).equals(month) ? startDate.getDayOfMonth() - 1 : 0;
+    }
+
+    private int lastDay(LocalDate endDate) {
+        return YearMonth.from(endDate).equals(month) ? endDate.getDayOfMonth() - 1 : masks.length - 1;
+    }
+}
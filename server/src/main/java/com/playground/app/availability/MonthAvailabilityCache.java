@@ -0,0 +1,153 @@
+package com.playground.app.availability;
+
+import com.playground.app.event.SlotChangedEvent;
+import com.playground.app.model.dto.SlotDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of per-venue, per-month availability snapshots in front of the index.
+ * A month is dropped once a change to it commits, and rebuilt on the next read.
+ */
+@Component
+public class MonthAvailabilityCache {
+
+    private final SlotAvailabilityIndex availabilityIndex;
+    private final int maxMonths;
+    private final Map<Key, MonthAvailability> months;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // Bumped on every invalidation so a snapshot built concurrently with a change is not stored
+    private long generation;
+
+    public MonthAvailabilityCache(SlotAvailabilityIndex availabilityIndex,
+                                  @Value("${availability.cache.max-months:24}") int maxMonths) {
+        this.availabilityIndex = availabilityIndex;
+        this.maxMonths = maxMonths;
+        this.months = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, MonthAvailability> eldest) {
+                return size() > maxMonths;
+            }
+        };
+    }
+
+    // Must run after the index has applied the change and before the booking version moves
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onSlotChanged(SlotChangedEvent event) {
+        invalidate(new Key(event.getVenue(), YearMonth.from(event.getDate())));
+    }
+
+    public void invalidate(Venue venue, YearMonth month) {
+        invalidate(new Key(venue.getId(), month));
+    }
+
+    public List<SlotDTO> getAvailableSlots(Venue venue, LocalDate startDate, LocalDate endDate) {
+        if (!isCacheable(startDate, endDate)) {
+            return availabilityIndex.getAvailableSlots(venue, startDate, endDate);
+        }
+
+        List<SlotDTO> slots = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+            get(venue, month).addAvailable(slots, startDate, endDate);
+        }
+        return slots;
+    }
+
+    public List<SlotDTO> getBookedSlots(Venue venue, LocalDate startDate, LocalDate endDate) {
+        if (!isCacheable(startDate, endDate)) {
+            return availabilityIndex.getBookedSlots(venue, startDate, endDate);
+        }
+
+        List<SlotDTO> slots = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+            get(venue, month).addBooked(slots, startDate, endDate);
+        }
+        return slots;
+    }
+
+    public int[] getBookedMasks(Venue venue, LocalDate startDate, LocalDate endDate) {
+        if (!isCacheable(startDate, endDate)) {
+            return availabilityIndex.getBookedMasks(venue, startDate, endDate);
+        }
+        return copyMasks(venue, startDate, endDate, false);
+    }
+
+    public int[] getAvailableMasks(Venue venue, LocalDate startDate, LocalDate endDate) {
+        if (!isCacheable(startDate, endDate)) {
+            return availabilityIndex.getAvailableMasks(venue, startDate, endDate);
+        }
+        return copyMasks(venue, startDate, endDate, true);
+    }
+
+    public MonthAvailability get(Venue venue, YearMonth month) {
+        Key key = new Key(venue.getId(), month);
+        long observedGeneration;
+        synchronized (this) {
+            MonthAvailability cached = months.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            observedGeneration = generation;
+        }
+
+        misses.increment();
+        MonthAvailability snapshot = availabilityIndex.snapshot(venue, month);
+
+        synchronized (this) {
+            if (generation == observedGeneration) {
+                months.put(key, snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public synchronized int size() {
+        return months.size();
+    }
+
+    private synchronized void invalidate(Key key) {
+        generation++;
+        months.remove(key);
+    }
+
+    private int[] copyMasks(Venue venue, LocalDate startDate, LocalDate endDate, boolean available) {
+        int[] masks = new int[(int) (endDate.toEpochDay() - startDate.toEpochDay() + 1)];
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+            get(venue, month).copyMasks(masks, startDate, endDate, available);
+        }
+        return masks;
+    }
+
+    // Ranges wider than the cache would only evict the hot months, so they go straight to the index
+    private boolean isCacheable(LocalDate startDate, LocalDate endDate) {
+        return !endDate.isBefore(startDate)
+                && ChronoUnit.MONTHS.between(YearMonth.from(startDate), YearMonth.from(endDate)) < maxMonths;
+    }
+
+    private record Key(String venue, YearMonth month) {
+    }
+}
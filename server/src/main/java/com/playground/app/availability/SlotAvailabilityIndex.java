@@ -0,0 +1,369 @@
+package com.playground.app.availability;
+
+import com.playground.app.event.SlotChangedEvent;
+import com.playground.app.model.dto.SlotDTO;
+import com.playground.app.repository.SlotRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory mirror of the booked slots, kept as one bitmask per day and venue.
+ * Range queries walk the days once and never touch the database.
+ * Days on which a venue's {@link SlotSchedule} is closed have no available slots.
+ * Only days inside the {@link BookingWindow} are stored, and days the window has moved past are
+ * dropped whenever the arrays are resized, so they never hold more days than the window spans.
+ */
+@Component
+public class SlotAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotAvailabilityIndex.class);
+
+    private static final int INITIAL_DAYS = 512;
+    private static final int MAX_REPORTED_INVALID = 5;
+
+    private final SlotRepository slotRepository;
+    private final Venues venues;
+    private final BookingWindow bookingWindow;
+    private final VenueDays[] days;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SlotAvailabilityIndex(SlotRepository slotRepository, Venues venues, BookingWindow bookingWindow) {
+        this.slotRepository = slotRepository;
+        this.venues = venues;
+        this.bookingWindow = bookingWindow;
+        this.days = new VenueDays[venues.size()];
+        for (Venue venue : venues.getAll()) {
+            days[venue.getOrdinal()] = new VenueDays(venue.getSchedule());
+        }
+    }
+
+    /**
+     * Loads the booked slots, failing if any booking the application still serves does not fit
+     * the configured venues and their layouts, since it could neither be shown nor cancelled safely.
+     */
+    @PostConstruct
+    public void warmUp() {
+        List<SlotDTO> bookedSlots = slotRepository.findAllSlotKeys();
+
+        int skipped = 0;
+        List<String> invalid = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (SlotDTO slot : bookedSlots) {
+                long epochDay = slot.getDate().toEpochDay();
+                Venue venue = venues.find(slot.getVenue());
+                if (venue == null || !venue.getSchedule().isValidSlotNumber(slot.getSlotNumber())) {
+                    if (bookingWindow.isTracked(epochDay)) {
+                        invalid.add(slot.getVenue() + "/" + slot.getDate() + "/" + slot.getSlotNumber());
+                    } else {
+                        skipped++;
+                    }
+                } else if (!days[venue.getOrdinal()].set(epochDay, slot.getSlotNumber(), slot.getId())) {
+                    skipped++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!invalid.isEmpty()) {
+            throw new IllegalStateException(invalid.size() + " booked slots do not fit the configured venues"
+                    + " and slot layouts, e.g. " + invalid.subList(0, Math.min(invalid.size(), MAX_REPORTED_INVALID))
+                    + " (venue/date/slot); fix the venues and schedule settings or move those reservations");
+        }
+        if (skipped > 0) {
+            log.info("Left {} booked slots outside the booking window out of the availability index", skipped);
+        }
+    }
+
+    // Runs before the other listeners so nothing observes a change the index does not have yet
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSlotChanged(SlotChangedEvent event) {
+        Venue venue = venues.find(event.getVenue());
+        if (venue == null) {
+            return;
+        }
+        if (event.isBooked()) {
+            markBooked(venue, event.getDate(), event.getSlotNumber(), event.getSlotId());
+        } else {
+            markFree(venue, event.getDate(), event.getSlotNumber());
+        }
+    }
+
+    public void markBooked(Venue venue, LocalDate date, int slotNumber, Long slotId) {
+        lock.writeLock().lock();
+        try {
+            days[venue.getOrdinal()].set(date.toEpochDay(), slotNumber, slotId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void markFree(Venue venue, LocalDate date, int slotNumber) {
+        if (!venue.getSchedule().isValidSlotNumber(slotNumber)) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            days[venue.getOrdinal()].clear(date.toEpochDay(), slotNumber);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isBooked(Venue venue, LocalDate date, int slotNumber) {
+        if (!venue.getSchedule().isValidSlotNumber(slotNumber)) {
+            return false;
+        }
+
+        lock.readLock().lock();
+        try {
+            return (days[venue.getOrdinal()].maskAt(date.toEpochDay()) & (1 << slotNumber)) != 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SlotDTO> getAvailableSlots(Venue venue, LocalDate startDate, LocalDate endDate) {
+        SlotSchedule schedule = venue.getSchedule();
+        VenueDays venueDays = days[venue.getOrdinal()];
+        int slotsPerDay = schedule.getSlotsPerDay();
+        long first = startDate.toEpochDay();
+        long last = endDate.toEpochDay();
+        List<SlotDTO> slots = new ArrayList<>((int) Math.max(0, (last - first + 1) * slotsPerDay));
+        int fullMask = schedule.getFullMask();
+
+        lock.readLock().lock();
+        try {
+            for (long epochDay = first; epochDay <= last; epochDay++) {
+                int mask = venueDays.maskAt(epochDay);
+                if (mask == fullMask) {
+                    continue;
+                }
+                LocalDate date = LocalDate.ofEpochDay(epochDay);
+                if (!schedule.isOpen(date)) {
+                    continue;
+                }
+                for (int slotNumber = 0; slotNumber < slotsPerDay; slotNumber++) {
+                    if ((mask & (1 << slotNumber)) == 0) {
+                        slots.add(new SlotDTO(null, date, slotNumber, true, venue.getId()));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return slots;
+    }
+
+    public List<SlotDTO> getBookedSlots(Venue venue, LocalDate startDate, LocalDate endDate) {
+        VenueDays venueDays = days[venue.getOrdinal()];
+        int slotsPerDay = venueDays.slotsPerDay;
+        long last = endDate.toEpochDay();
+        List<SlotDTO> slots = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            long first = Math.max(startDate.toEpochDay(), venueDays.baseEpochDay);
+            for (long epochDay = first; epochDay <= last; epochDay++) {
+                int day = venueDays.indexOf(epochDay);
+                if (day < 0) {
+                    break;
+                }
+                int mask = venueDays.masks[day];
+                if (mask == 0) {
+                    continue;
+                }
+                LocalDate date = LocalDate.ofEpochDay(epochDay);
+                for (int slotNumber = 0; slotNumber < slotsPerDay; slotNumber++) {
+                    if ((mask & (1 << slotNumber)) != 0) {
+                        slots.add(new SlotDTO(venueDays.slotIds[day * slotsPerDay + slotNumber], date, slotNumber,
+                                false, venue.getId()));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return slots;
+    }
+
+    /**
+     * Booked-slot bitmask of every day in the range, the first day at position 0
+     */
+    public int[] getBookedMasks(Venue venue, LocalDate startDate, LocalDate endDate) {
+        VenueDays venueDays = days[venue.getOrdinal()];
+        long first = startDate.toEpochDay();
+        int[] rangeMasks = new int[(int) Math.max(0, endDate.toEpochDay() - first + 1)];
+
+        lock.readLock().lock();
+        try {
+            for (int day = 0; day < rangeMasks.length; day++) {
+                rangeMasks[day] = venueDays.maskAt(first + day);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return rangeMasks;
+    }
+
+    /**
+     * Available-slot bitmask of every day in the range, empty on closed days
+     */
+    public int[] getAvailableMasks(Venue venue, LocalDate startDate, LocalDate endDate) {
+        SlotSchedule schedule = venue.getSchedule();
+        int[] rangeMasks = getBookedMasks(venue, startDate, endDate);
+        for (int day = 0; day < rangeMasks.length; day++) {
+            rangeMasks[day] = schedule.isOpen(startDate.plusDays(day)) ? ~rangeMasks[day] & schedule.getFullMask() : 0;
+        }
+        return rangeMasks;
+    }
+
+    /**
+     * Copies one month of a venue out of the index, for {@link MonthAvailabilityCache}
+     */
+    public MonthAvailability snapshot(Venue venue, YearMonth month) {
+        SlotSchedule schedule = venue.getSchedule();
+        VenueDays venueDays = days[venue.getOrdinal()];
+        int slotsPerDay = venueDays.slotsPerDay;
+        int monthDays = month.lengthOfMonth();
+        int[] monthMasks = new int[monthDays];
+        long[] monthSlotIds = new long[monthDays * slotsPerDay];
+        long first = month.atDay(1).toEpochDay();
+
+        int closedDays = 0;
+        for (int day = 0; day < monthDays; day++) {
+            if (!schedule.isOpen(month.atDay(day + 1))) {
+                closedDays |= 1 << day;
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            for (int day = 0; day < monthDays; day++) {
+                int index = venueDays.indexOf(first + day);
+                if (index >= 0) {
+                    monthMasks[day] = venueDays.masks[index];
+                    System.arraycopy(venueDays.slotIds, index * slotsPerDay, monthSlotIds, day * slotsPerDay, slotsPerDay);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new MonthAvailability(venue, month, monthMasks, monthSlotIds, closedDays);
+    }
+
+    // Days the venue's arrays currently have room for
+    int getCapacity(Venue venue) {
+        lock.readLock().lock();
+        try {
+            return days[venue.getOrdinal()].masks.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Booked days of one venue. Guarded by the index lock.
+     */
+    private final class VenueDays {
+
+        private final SlotSchedule schedule;
+        private final int slotsPerDay;
+
+        private long baseEpochDay;
+        private int[] masks = new int[0];
+        private long[] slotIds = new long[0];
+
+        private VenueDays(SlotSchedule schedule) {
+            this.schedule = schedule;
+            this.slotsPerDay = schedule.getSlotsPerDay();
+        }
+
+        private int maskAt(long epochDay) {
+            int day = indexOf(epochDay);
+            return day >= 0 ? masks[day] : 0;
+        }
+
+        private int indexOf(long epochDay) {
+            long offset = epochDay - baseEpochDay;
+            return offset >= 0 && offset < masks.length ? (int) offset : -1;
+        }
+
+        /**
+         * @return false if the day or slot number cannot be stored
+         */
+        private boolean set(long epochDay, int slotNumber, Long slotId) {
+            if (!schedule.isValidSlotNumber(slotNumber) || !bookingWindow.isTracked(epochDay)) {
+                return false;
+            }
+            ensureCapacity(epochDay);
+            int day = (int) (epochDay - baseEpochDay);
+            masks[day] |= 1 << slotNumber;
+            slotIds[day * slotsPerDay + slotNumber] = slotId != null ? slotId : 0L;
+            return true;
+        }
+
+        private void clear(long epochDay, int slotNumber) {
+            int day = indexOf(epochDay);
+            if (day >= 0) {
+                masks[day] &= ~(1 << slotNumber);
+                slotIds[day * slotsPerDay + slotNumber] = 0L;
+            }
+        }
+
+        /**
+         * Makes the given day addressable, growing the backing arrays in either direction from the
+         * current window. Days before the first tracked date are left behind on every resize, so
+         * the arrays never outgrow the booking window. Callers only pass days inside the window.
+         */
+        private void ensureCapacity(long epochDay) {
+            if (indexOf(epochDay) >= 0) {
+                return;
+            }
+
+            long firstTracked = bookingWindow.getFirstTrackedDate().toEpochDay();
+            long lastTracked = bookingWindow.getLastBookableDate().toEpochDay();
+            long keepStart = Math.max(baseEpochDay, firstTracked);
+            long keepEnd = Math.min(baseEpochDay + masks.length, lastTracked + 1);
+            boolean keep = keepStart < keepEnd;
+            long newBase = keep ? Math.min(keepStart, epochDay) : epochDay;
+            long newEnd = keep ? Math.max(keepEnd, epochDay + 1) : epochDay + 1;
+            long grown = Math.max(newEnd - newBase, Math.max(INITIAL_DAYS, masks.length * 2L));
+            int newLength = (int) Math.min(grown, lastTracked - firstTracked + 1);
+            if (keep && epochDay < keepStart) {
+                newBase = newEnd - newLength;
+            }
+
+            int[] newMasks = new int[newLength];
+            long[] newSlotIds = new long[newLength * slotsPerDay];
+            if (keep) {
+                int from = (int) (keepStart - baseEpochDay);
+                int to = (int) (keepStart - newBase);
+                int count = (int) (keepEnd - keepStart);
+                System.arraycopy(masks, from, newMasks, to, count);
+                System.arraycopy(slotIds, from * slotsPerDay, newSlotIds, to * slotsPerDay, count * slotsPerDay);
+            }
+
+            baseEpochDay = newBase;
+            masks = newMasks;
+            slotIds = newSlotIds;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.playground.app.availability;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process claims on (venue, date, slotNumber) triples that are currently being booked.
+ * Only one request may hold the claim for a slot; the others are rejected
+ * before they open a transaction, while claims on different slots never contend.
+ */
+@Component
+public class SlotClaimGuard {
+
+    private final Set<Long> claims = ConcurrentHashMap.newKeySet();
+
+    public boolean tryClaim(Venue venue, LocalDate date, int slotNumber) {
+        return claims.add(venue.slotKey(date, slotNumber));
+    }
+
+    public void release(Venue venue, LocalDate date, int slotNumber) {
+        claims.remove(venue.slotKey(date, slotNumber));
+    }
+}
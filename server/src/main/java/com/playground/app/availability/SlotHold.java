@@ -0,0 +1,77 @@
+package com.playground.app.availability;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived claim of one user on a free slot while they fill in the booking form
+ */
+public final class SlotHold implements Delayed {
+
+    private final String venue;
+    private final long key;
+    private final LocalDate date;
+    private final int slotNumber;
+    private final String username;
+    private final Instant expiresAt;
+    private final long heldSinceNanos;
+    private final long deadlineNanos;
+
+    /**
+     * @param heldSinceNanos when the user first took the slot; renewals carry it over
+     */
+    SlotHold(Venue venue, LocalDate date, int slotNumber, String username, long heldSinceNanos, long deadlineNanos) {
+        this.venue = venue.getId();
+        this.key = venue.slotKey(date, slotNumber);
+        this.date = date;
+        this.slotNumber = slotNumber;
+        this.username = username;
+        this.expiresAt = Instant.now().plusNanos(deadlineNanos - System.nanoTime());
+        this.heldSinceNanos = heldSinceNanos;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public String getVenue() {
+        return venue;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getSlotNumber() {
+        return slotNumber;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    long getHeldSinceNanos() {
+        return heldSinceNanos;
+    }
+
+    boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    long key() {
+        return key;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(deadlineNanos, ((SlotHold) other).deadlineNanos);
+    }
+}
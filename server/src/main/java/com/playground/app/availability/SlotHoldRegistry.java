@@ -0,0 +1,234 @@
+package com.playground.app.availability;
+
+import com.playground.app.exception.SlotAlreadyBookedException;
+import com.playground.app.exception.TooManyRequestsException;
+import com.playground.app.model.dto.SlotDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Expiring holds on free slots, taken when a user opens the booking form and turned into a
+ * reservation when they confirm. Holds live only in memory: one map entry per held slot, the
+ * keys each user holds, and a {@link DelayQueue} drained by a single thread that drops holds once
+ * they expire. Expired holds are ignored even before that thread gets to them.
+ * A user can hold a few slots at a time, and renewing a hold never keeps it past a maximum age,
+ * so nobody can keep slots away from others by leaving forms open.
+ */
+@Component
+public class SlotHoldRegistry {
+
+    private final BookingVersion bookingVersion;
+    private final long ttlNanos;
+    private final int maxPerUser;
+    private final long maxAgeNanos;
+    private final Map<Long, SlotHold> holds = new ConcurrentHashMap<>();
+    // Slot keys held by each user; updated under the map's per-user lock, entries go once empty
+    private final Map<String, Set<Long>> keysByUser = new ConcurrentHashMap<>();
+    // One entry per hold, not per renewal: the reaper re-queues a hold that was renewed meanwhile
+    private final DelayQueue<SlotHold> expiries = new DelayQueue<>();
+    private final LongAdder expired = new LongAdder();
+    private Thread reaper;
+
+    public SlotHoldRegistry(BookingVersion bookingVersion,
+                            @Value("${holds.ttl:300000}") long ttlMillis,
+                            @Value("${holds.max-per-user:3}") int maxPerUser,
+                            @Value("${holds.max-age:900000}") long maxAgeMillis) {
+        this.bookingVersion = bookingVersion;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxPerUser = maxPerUser;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        reaper = Thread.ofPlatform().name("slot-hold-expiry").daemon().start(this::reapExpired);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reaper != null) {
+            reaper.interrupt();
+        }
+    }
+
+    /**
+     * Holds the slot for the user, renewing a hold they already have. A renewal extends the hold
+     * by the TTL again, but never past the maximum age counted from when the slot was first held.
+     * Only the user's own entry is locked, so the per-user limit costs at most that many lookups
+     * and other users' holds proceed in parallel; the slot itself is claimed atomically.
+     *
+     * @throws SlotAlreadyBookedException if another user holds the slot
+     * @throws TooManyRequestsException if the user already holds the maximum number of slots
+     */
+    public SlotHold hold(Venue venue, LocalDate date, int slotNumber, String username) {
+        long now = System.nanoTime();
+        long key = venue.slotKey(date, slotNumber);
+        SlotHold[] taken = new SlotHold[1];
+        keysByUser.compute(username, (user, keys) -> {
+            Set<Long> held = keys != null ? keys : new HashSet<>();
+            held.removeIf(heldKey -> !isActiveHoldOf(holds.get(heldKey), username));
+            if (!held.contains(key) && held.size() >= maxPerUser) {
+                throw new TooManyRequestsException("At most " + maxPerUser + " slots can be held at once");
+            }
+
+            taken[0] = holds.compute(key, (slotKey, existing) -> {
+                boolean renewal = isActiveHoldOf(existing, username);
+                if (!renewal && existing != null && !existing.isExpired()) {
+                    throw new SlotAlreadyBookedException("The requested time slot is held by another user");
+                }
+                long heldSince = renewal ? existing.getHeldSinceNanos() : now;
+                return new SlotHold(venue, date, slotNumber, username, heldSince,
+                        Math.min(now + ttlNanos, heldSince + maxAgeNanos));
+            });
+            held.add(key);
+            return held;
+        });
+
+        SlotHold hold = taken[0];
+        if (hold.getHeldSinceNanos() == now) {
+            expiries.add(hold); // A renewal keeps the entry queued for the first hold
+        }
+        bookingVersion.bump(YearMonth.from(date));
+        return hold;
+    }
+
+    /**
+     * Drops the user's hold on the slot, if they have one
+     */
+    public void release(Venue venue, LocalDate date, int slotNumber, String username) {
+        long key = venue.slotKey(date, slotNumber);
+        SlotHold hold = holds.get(key);
+        if (hold != null && hold.getUsername().equals(username) && remove(hold)) {
+            bookingVersion.bump(YearMonth.from(date));
+        }
+    }
+
+    public boolean isHeld(Venue venue, LocalDate date, int slotNumber) {
+        SlotHold hold = holds.get(venue.slotKey(date, slotNumber));
+        return hold != null && !hold.isExpired();
+    }
+
+    public boolean isHeldByOther(Venue venue, LocalDate date, int slotNumber, String username) {
+        SlotHold hold = holds.get(venue.slotKey(date, slotNumber));
+        return hold != null && !hold.isExpired() && !hold.getUsername().equals(username);
+    }
+
+    /**
+     * Clears the venue's held slots from available-slot masks whose position 0 is {@code startDate}
+     */
+    public void clearHeld(Venue venue, int[] masks, LocalDate startDate) {
+        if (holds.isEmpty()) {
+            return;
+        }
+        int[] held = heldMasks(venue, startDate.toEpochDay(), masks.length);
+        for (int day = 0; day < masks.length; day++) {
+            masks[day] &= ~held[day];
+        }
+    }
+
+    /**
+     * Removes held slots from a list of the venue's available slots
+     */
+    public void removeHeld(Venue venue, List<SlotDTO> slots) {
+        if (holds.isEmpty() || slots.isEmpty()) {
+            return;
+        }
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (SlotDTO slot : slots) {
+            long day = slot.getDate().toEpochDay();
+            first = Math.min(first, day);
+            last = Math.max(last, day);
+        }
+
+        long firstDay = first;
+        int[] held = heldMasks(venue, firstDay, (int) (last - first + 1));
+        slots.removeIf(slot -> (held[(int) (slot.getDate().toEpochDay() - firstDay)] & (1 << slot.getSlotNumber())) != 0);
+    }
+
+    public int size() {
+        return holds.size();
+    }
+
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    int getQueuedExpiryCount() {
+        return expiries.size();
+    }
+
+    // Per-day masks of the venue's active holds, position 0 being firstDay
+    private int[] heldMasks(Venue venue, long firstDay, int days) {
+        int[] held = new int[days];
+        for (SlotHold hold : holds.values()) {
+            long day = hold.getDate().toEpochDay() - firstDay;
+            if (day >= 0 && day < days && !hold.isExpired() && hold.getVenue().equals(venue.getId())) {
+                held[(int) day] |= 1 << hold.getSlotNumber();
+            }
+        }
+        return held;
+    }
+
+    private static boolean isActiveHoldOf(SlotHold hold, String username) {
+        return hold != null && !hold.isExpired() && hold.getUsername().equals(username);
+    }
+
+    private static boolean isSameHold(SlotHold hold, SlotHold renewed) {
+        return renewed.getUsername().equals(hold.getUsername()) && renewed.getHeldSinceNanos() == hold.getHeldSinceNanos();
+    }
+
+    // Forgets the user's keys whose hold has since expired or gone to someone else
+    private void prune(String username) {
+        keysByUser.computeIfPresent(username, (user, keys) -> {
+            keys.removeIf(key -> !isActiveHoldOf(holds.get(key), username));
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    // Removes exactly this hold, and its key from the owner's set; false if it was renewed or replaced
+    private boolean remove(SlotHold hold) {
+        boolean[] removed = new boolean[1];
+        keysByUser.computeIfPresent(hold.getUsername(), (user, keys) -> {
+            removed[0] = holds.remove(hold.key(), hold);
+            if (removed[0]) {
+                keys.remove(hold.key());
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+        return removed[0];
+    }
+
+    private void reapExpired() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                SlotHold queued = expiries.take();
+                SlotHold current = holds.get(queued.key());
+                if (current == null || !isSameHold(queued, current)) {
+                    // Released, or since taken by a new hold that has its own entry
+                    prune(queued.getUsername());
+                } else if (!current.isExpired()) {
+                    expiries.add(current); // Renewed after this entry was queued
+                } else if (remove(current)) {
+                    expired.increment();
+                    bookingVersion.bump(YearMonth.from(current.getDate()));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.playground.app.availability;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Daily slot layout of one venue, compiled once from configuration into primitive lookups:
+ * the time window of every slot number and the closed days.
+ * Slot n of a day is bit n of that day's mask everywhere in the availability code.
+ */
+public class SlotSchedule {
+
+    public static final String DEFAULT_SLOTS = "08:00-12:00,13:00-17:00,18:00-22:00";
+
+    /**
+     * Day masks are ints and claim keys reserve 5 bits for the slot number
+     */
+    public static final int MAX_SLOTS_PER_DAY = 31;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int SLOT_BITS = 5;
+
+    private final int[] startMinutes;
+    private final int[] endMinutes;
+    private final boolean[] closedWeekdays = new boolean[7];
+    private final long[] blackoutDays;
+    private final int fullMask;
+
+    /**
+     * @param slots          explicit windows such as {@code 08:00-12:00,13:00-17:00}; when blank they are
+     *                       generated from {@code openingHours} and {@code slotMinutes}
+     * @param openingHours   a single window such as {@code 08:00-22:00}
+     * @param slotMinutes    length of each generated slot
+     * @param closedDays     weekdays without slots, such as {@code MONDAY}
+     * @param blackoutDates  ISO dates without slots
+     */
+    public SlotSchedule(String slots, String openingHours, int slotMinutes, String closedDays, String blackoutDates) {
+        List<int[]> windows = slots.isBlank()
+                ? generateWindows(parseWindow(openingHours), slotMinutes)
+                : split(slots).stream().map(SlotSchedule::parseWindow).toList();
+
+        if (windows.isEmpty() || windows.size() > MAX_SLOTS_PER_DAY) {
+            throw new IllegalArgumentException("A day must have between 1 and " + MAX_SLOTS_PER_DAY
+                    + " slots, got " + windows.size());
+        }
+
+        startMinutes = new int[windows.size()];
+        endMinutes = new int[windows.size()];
+        for (int slotNumber = 0; slotNumber < windows.size(); slotNumber++) {
+            int[] window = windows.get(slotNumber);
+            if (slotNumber > 0 && window[0] < endMinutes[slotNumber - 1]) {
+                throw new IllegalArgumentException("Slots must be in order and must not overlap: " + slots);
+            }
+            startMinutes[slotNumber] = window[0];
+            endMinutes[slotNumber] = window[1];
+        }
+
+        for (String day : split(closedDays)) {
+            closedWeekdays[DayOfWeek.valueOf(day.toUpperCase(Locale.ROOT)).ordinal()] = true;
+        }
+        blackoutDays = split(blackoutDates).stream()
+                .mapToLong(date -> LocalDate.parse(date).toEpochDay())
+                .sorted()
+                .toArray();
+        fullMask = (1 << windows.size()) - 1;
+    }
+
+    /**
+     * Unique long for a (date, slot number) pair that does not depend on the configured layout
+     */
+    public static long slotKey(LocalDate date, int slotNumber) {
+        return date.toEpochDay() << SLOT_BITS | slotNumber;
+    }
+
+    public static SlotSchedule withDefaults() {
+        return new SlotSchedule(DEFAULT_SLOTS, "", 60, "", "");
+    }
+
+    public int getSlotsPerDay() {
+        return startMinutes.length;
+    }
+
+    /**
+     * Day mask with every slot bit set
+     */
+    public int getFullMask() {
+        return fullMask;
+    }
+
+    public boolean isValidSlotNumber(Integer slotNumber) {
+        return slotNumber != null && slotNumber >= 0 && slotNumber < startMinutes.length;
+    }
+
+    public boolean isOpen(LocalDate date) {
+        return !closedWeekdays[date.getDayOfWeek().ordinal()]
+                && Arrays.binarySearch(blackoutDays, date.toEpochDay()) < 0;
+    }
+
+    public LocalTime getStart(int slotNumber) {
+        return LocalTime.ofSecondOfDay(startMinutes[slotNumber] * 60L);
+    }
+
+    public LocalTime getEnd(int slotNumber) {
+        return endMinutes[slotNumber] == MINUTES_PER_DAY ? LocalTime.MAX : LocalTime.ofSecondOfDay(endMinutes[slotNumber] * 60L);
+    }
+
+    public List<DayOfWeek> getClosedDays() {
+        List<DayOfWeek> days = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (closedWeekdays[day.ordinal()]) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    public List<LocalDate> getBlackoutDates() {
+        return Arrays.stream(blackoutDays).mapToObj(LocalDate::ofEpochDay).toList();
+    }
+
+    private static List<int[]> generateWindows(int[] openingHours, int slotMinutes) {
+        if (slotMinutes <= 0) {
+            throw new IllegalArgumentException("Slot length must be positive, got " + slotMinutes);
+        }
+        List<int[]> windows = new ArrayList<>();
+        for (int start = openingHours[0]; start + slotMinutes <= openingHours[1]; start += slotMinutes) {
+            windows.add(new int[]{start, start + slotMinutes});
+        }
+        return windows;
+    }
+
+    private static int[] parseWindow(String window) {
+        String[] bounds = window.trim().split("-");
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException("Expected a window such as 08:00-12:00, got '" + window + "'");
+        }
+        int start = toMinutes(bounds[0]);
+        int end = bounds[1].trim().equals("24:00") ? MINUTES_PER_DAY : toMinutes(bounds[1]);
+        if (end <= start) {
+            throw new IllegalArgumentException("Window must end after it starts: " + window);
+        }
+        return new int[]{start, end};
+    }
+
+    private static int toMinutes(String time) {
+        LocalTime parsed = LocalTime.parse(time.trim());
+        return parsed.getHour() * 60 + parsed.getMinute();
+    }
+
+    private static List<String> split(String values) {
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.playground.app.availability;
+
+import java.time.LocalDate;
+
+/**
+ * A bookable place with its own daily slot layout. The id is what clients and the database use;
+ * the ordinal only addresses per-venue state inside the availability code.
+ */
+public final class Venue {
+
+    public static final String DEFAULT_ID = "main";
+
+    private final String id;
+    private final int ordinal;
+    private final SlotSchedule schedule;
+
+    Venue(String id, int ordinal, SlotSchedule schedule) {
+        this.id = id;
+        this.ordinal = ordinal;
+        this.schedule = schedule;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public SlotSchedule getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * Unique long for a (date, slot number) pair at this venue
+     */
+    public long slotKey(LocalDate date, int slotNumber) {
+        return SlotSchedule.slotKey(date, slotNumber) * Venues.MAX_VENUES + ordinal;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
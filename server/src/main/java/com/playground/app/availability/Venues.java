@@ -0,0 +1,120 @@
+package com.playground.app.availability;
+
+import com.playground.app.exception.UnknownVenueException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The configured venues, in configuration order; the first one is the default for requests that
+ * do not name a venue. Each venue reads its layout from {@code venues.<id>.*} and falls back to
+ * the shared {@code schedule.*} settings.
+ */
+@Component
+public class Venues {
+
+    /**
+     * Venue ordinals are packed into slot keys
+     */
+    public static final int MAX_VENUES = 64;
+
+    private static final Pattern VENUE_ID = Pattern.compile("[a-z0-9][a-z0-9_-]{0,63}");
+
+    private final List<Venue> venues;
+    private final Map<String, Venue> byId = new HashMap<>();
+
+    @Autowired
+    public Venues(@Value("${venues.ids:" + Venue.DEFAULT_ID + "}") String ids, Environment environment) {
+        this(schedulesFrom(ids, environment));
+    }
+
+    /**
+     * @param schedules layout of every venue by id, in the order the venues should be listed
+     */
+    public Venues(Map<String, SlotSchedule> schedules) {
+        if (schedules.isEmpty() || schedules.size() > MAX_VENUES) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_VENUES + " venues are supported, got "
+                    + schedules.size());
+        }
+        List<Venue> configured = new ArrayList<>();
+        schedules.forEach((id, schedule) -> {
+            if (!VENUE_ID.matcher(id).matches()) {
+                throw new IllegalArgumentException("Venue ids are lower-case letters, digits, '-' and '_', got '"
+                        + id + "'");
+            }
+            Venue venue = new Venue(id, configured.size(), schedule);
+            configured.add(venue);
+            byId.put(id, venue);
+        });
+        venues = List.copyOf(configured);
+    }
+
+    public static Venues single(SlotSchedule schedule) {
+        return new Venues(Map.of(Venue.DEFAULT_ID, schedule));
+    }
+
+    public Venue getDefault() {
+        return venues.get(0);
+    }
+
+    public List<Venue> getAll() {
+        return venues;
+    }
+
+    public int size() {
+        return venues.size();
+    }
+
+    /**
+     * The venue with the given id, or null when there is none
+     */
+    public Venue find(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    /**
+     * The venue a request asked for, or the default venue when it did not name one
+     *
+     * @throws UnknownVenueException if no venue has the given id
+     */
+    public Venue resolve(String id) {
+        if (id == null || id.isBlank()) {
+            return getDefault();
+        }
+        Venue venue = byId.get(id);
+        if (venue == null) {
+            throw new UnknownVenueException("Unknown venue: " + id);
+        }
+        return venue;
+    }
+
+    private static Map<String, SlotSchedule> schedulesFrom(String ids, Environment environment) {
+        Map<String, SlotSchedule> schedules = new LinkedHashMap<>();
+        for (String id : ids.split(",")) {
+            String venue = id.trim();
+            if (venue.isEmpty()) {
+                continue;
+            }
+            schedules.put(venue, new SlotSchedule(
+                    property(environment, venue, "slots", SlotSchedule.DEFAULT_SLOTS),
+                    property(environment, venue, "opening-hours", ""),
+                    Integer.parseInt(property(environment, venue, "slot-minutes", "60")),
+                    property(environment, venue, "closed-days", ""),
+                    property(environment, venue, "blackout-dates", "")));
+        }
+        return schedules;
+    }
+
+    private static String property(Environment environment, String venue, String key, String defaultValue) {
+        String shared = environment.getProperty("schedule." + key, defaultValue);
+        return environment.getProperty("venues." + venue + "." + key, shared);
+    }
+}
@@ -0,0 +1,113 @@
+package com.playground.app.config;
+
+import com.playground.app.availability.MonthAvailabilityCache;
+import com.playground.app.availability.SlotHoldRegistry;
+import com.playground.app.event.SlotEventBroadcaster;
+import com.playground.app.idempotency.IdempotencyStore;
+import com.playground.app.metrics.StatementCountingInspector;
+import com.playground.app.outbox.OutboxDispatcher;
+import com.playground.app.registration.RegisteredIdentifiers;
+import com.playground.app.security.TokenDenyList;
+import com.playground.app.security.TokenVerificationCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+    }
+
+    @Bean
+    public MeterBinder tokenCacheMetrics(TokenVerificationCache tokenCache, TokenDenyList tokenDenyList) {
+        return registry -> {
+            FunctionCounter.builder("auth.token.cache.requests", tokenCache, TokenVerificationCache::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("auth.token.cache.requests", tokenCache, TokenVerificationCache::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("auth.token.cache.size", tokenCache, TokenVerificationCache::size)
+                    .register(registry);
+            Gauge.builder("auth.token.denylist.size", tokenDenyList, TokenDenyList::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder availabilityCacheMetrics(MonthAvailabilityCache availabilityCache) {
+        return registry -> {
+            FunctionCounter.builder("availability.cache.requests", availabilityCache, MonthAvailabilityCache::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("availability.cache.requests", availabilityCache, MonthAvailabilityCache::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("availability.cache.months", availabilityCache, MonthAvailabilityCache::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder slotHoldMetrics(SlotHoldRegistry holds) {
+        return registry -> {
+            Gauge.builder("slots.holds.active", holds, SlotHoldRegistry::size)
+                    .register(registry);
+            FunctionCounter.builder("slots.holds.expired", holds, SlotHoldRegistry::getExpiredCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder registrationFilterMetrics(RegisteredIdentifiers registeredIdentifiers) {
+        return registry -> {
+            FunctionCounter.builder("registration.filter.lookups", registeredIdentifiers,
+                            RegisteredIdentifiers::getDefiniteNegativeCount)
+                    .tag("result", "absent")
+                    .register(registry);
+            FunctionCounter.builder("registration.filter.lookups", registeredIdentifiers,
+                            RegisteredIdentifiers::getPossiblePositiveCount)
+                    .tag("result", "maybe-present")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder idempotencyMetrics(IdempotencyStore idempotencyStore) {
+        return registry -> {
+            FunctionCounter.builder("reservations.idempotent.replays", idempotencyStore, IdempotencyStore::getReplayCount)
+                    .register(registry);
+            Gauge.builder("reservations.idempotent.keys", idempotencyStore, IdempotencyStore::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder outboxMetrics(OutboxDispatcher outboxDispatcher) {
+        return registry -> {
+            FunctionCounter.builder("outbox.deliveries", outboxDispatcher, OutboxDispatcher::getDeliveredCount)
+                    .tag("result", "delivered")
+                    .register(registry);
+            FunctionCounter.builder("outbox.deliveries", outboxDispatcher, OutboxDispatcher::getFailedCount)
+                    .tag("result", "failed")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder slotStreamMetrics(SlotEventBroadcaster slotEventBroadcaster) {
+        return registry -> {
+            Gauge.builder("slots.stream.subscribers", slotEventBroadcaster, SlotEventBroadcaster::getSubscriberCount)
+                    .register(registry);
+            FunctionCounter.builder("slots.stream.dropped", slotEventBroadcaster, SlotEventBroadcaster::getDroppedCount)
+                    .register(registry);
+        };
+    }
+}
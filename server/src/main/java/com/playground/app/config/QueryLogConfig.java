@@ -0,0 +1,73 @@
+package com.playground.app.config;
+
+import com.playground.app.querylog.QueryLog;
+import com.playground.app.querylog.QueryLoggingDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * JDBC statement logging for {@code query-log.enabled=true}, replacing Hibernate's show-sql:
+ * slow statements always, a sample of the rest, with bind values redacted unless configured
+ * otherwise and written off the query thread.
+ */
+@Configuration
+@ConditionalOnProperty(name = "query-log.enabled", havingValue = "true")
+public class QueryLogConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public QueryLog queryLog(@Value("${query-log.slow-threshold:200}") long slowThresholdMillis,
+                             @Value("${query-log.sample-rate:0.0}") double sampleRate,
+                             @Value("${query-log.redact-parameters:true}") boolean redactParameters,
+                             @Value("${query-log.queue-capacity:1024}") int queueCapacity) {
+        return new QueryLog(slowThresholdMillis, sampleRate, redactParameters, queueCapacity);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryLoggingDataSource(ObjectProvider<QueryLog> queryLog) {
+        return new QueryLoggingPostProcessor(queryLog);
+    }
+
+    @Bean
+    public MeterBinder queryLogMetrics(QueryLog queryLog) {
+        return registry -> {
+            FunctionCounter.builder("query.log.entries", queryLog, QueryLog::getWrittenCount)
+                    .tag("result", "written")
+                    .register(registry);
+            FunctionCounter.builder("query.log.entries", queryLog, QueryLog::getDroppedCount)
+                    .tag("result", "dropped")
+                    .register(registry);
+        };
+    }
+
+    // Runs after the other DataSource wrappers, so only statement execution is timed
+    private static final class QueryLoggingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<QueryLog> queryLog;
+
+        private QueryLoggingPostProcessor(ObjectProvider<QueryLog> queryLog) {
+            this.queryLog = queryLog;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof QueryLoggingDataSource)) {
+                return new QueryLoggingDataSource(dataSource, queryLog.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
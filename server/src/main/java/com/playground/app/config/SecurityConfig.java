@@ -1,8 +1,16 @@
 package com.playground.app.config;
 
+import com.playground.app.security.BoundedPasswordEncoder;
 import com.playground.app.security.JwtAuthenticationFilter;
 import com.playground.app.security.JwtTokenProvider;
 import com.playground.app.security.CustomUserDetailsService;
+import com.playground.app.security.PasswordEncoders;
+import com.playground.app.security.TimedPasswordEncoder;
+import com.playground.app.security.TokenDenyList;
+import com.playground.app.security.TokenVerificationCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,7 +18,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -25,20 +32,47 @@ public class SecurityConfig {
 
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenVerificationCache tokenCache;
+    private final TokenDenyList tokenDenyList;
+    private final MeterRegistry meterRegistry;
 
-    public SecurityConfig(JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService) {
+    @Value("${jwt.stateless:false}")
+    private boolean statelessAuthentication;
+
+    @Value("${auth.password.algorithm:bcrypt}")
+    private String passwordAlgorithm;
+
+    @Value("${auth.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${auth.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${auth.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    public SecurityConfig(JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService,
+                          TokenVerificationCache tokenCache, TokenDenyList tokenDenyList,
+                          MeterRegistry meterRegistry) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
+        this.tokenCache = tokenCache;
+        this.tokenDenyList = tokenDenyList;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(tokenProvider, userDetailsService);
+        return new JwtAuthenticationFilter(tokenProvider, userDetailsService, tokenCache, tokenDenyList,
+                statelessAuthentication, Timer.builder("auth.jwt.filter").register(meterRegistry));
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        PasswordEncoder encoder = PasswordEncoders.create(passwordAlgorithm, bcryptStrength);
+        return new BoundedPasswordEncoder(new TimedPasswordEncoder(encoder, meterRegistry),
+                threads, hashingQueueCapacity, meterRegistry);
     }
 
     @Bean
@@ -55,6 +89,12 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/users/login", "/api/users/register").permitAll()
+                        // EventSource cannot send an Authorization header; deltas carry no user data
+                        .requestMatchers(HttpMethod.GET, "/api/slots/stream").permitAll()
+                        // The calendar is drawn from the venue layouts before anyone logs in
+                        .requestMatchers(HttpMethod.GET, "/api/slots/schedule", "/api/slots/venues").permitAll()
+                        // Served on the internal management port only
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
@@ -69,8 +109,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:63343", "http://localhost:5500", "http://localhost:8080", "http://localhost"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin", "Access-Control-Request-Method", "Access-Control-Request-Headers"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin", "Access-Control-Request-Method", "Access-Control-Request-Headers", "Idempotency-Key"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Idempotent-Replayed"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,58 @@
+package com.playground.app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true}, where Tomcat and the
+ * application task executor run on virtual threads: JDBC access goes through a gate of
+ * {@code jdbc.gate.permits} concurrent connections.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyGate(Environment environment) {
+        return new JdbcConcurrencyGate(environment);
+    }
+
+    // Ordered so it sees the Hikari pool before other DataSource wrappers such as the query log
+    private static final class JdbcConcurrencyGate implements BeanPostProcessor, Ordered {
+
+        private static final Logger log = LoggerFactory.getLogger(JdbcConcurrencyGate.class);
+
+        private final Environment environment;
+
+        private JdbcConcurrencyGate(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikari) {
+                int permits = environment.getProperty("jdbc.gate.permits", Integer.class, hikari.getMaximumPoolSize());
+                long acquireTimeout = environment.getProperty("jdbc.gate.acquire-timeout", Long.class,
+                        hikari.getConnectionTimeout());
+                if (permits > hikari.getMaximumPoolSize()) {
+                    log.warn("jdbc.gate.permits ({}) exceeds the pool size ({}); callers past the pool wait in Hikari",
+                            permits, hikari.getMaximumPoolSize());
+                }
+                return new ConcurrencyLimitedDataSource(hikari, permits, acquireTimeout);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -1,17 +1,36 @@
 package com.playground.app.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.playground.app.availability.BookingVersion;
+import com.playground.app.availability.Venue;
+import com.playground.app.availability.Venues;
+import com.playground.app.idempotency.IdempotencyStore;
+import com.playground.app.model.dto.BulkReservationItemDTO;
+import com.playground.app.model.dto.BulkReservationRequestDTO;
+import com.playground.app.model.dto.ReservationCursor;
+import com.playground.app.model.dto.ReservationPageDTO;
 import com.playground.app.model.dto.ReservationRequestDTO;
 import com.playground.app.model.dto.ReservationResponseDTO;
 import com.playground.app.model.dto.SlotDTO;
 import com.playground.app.model.entity.Reservation;
 import com.playground.app.service.ReservationService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,31 +39,125 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/reservations")
 public class ReservationController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final ReservationService reservationService;
+    private final ObjectWriter ndjsonWriter;
+    private final BookingVersion bookingVersion;
+    private final IdempotencyStore idempotencyStore;
+    private final Venues venues;
 
-    public ReservationController(ReservationService reservationService) {
+    public ReservationController(ReservationService reservationService, ObjectMapper objectMapper,
+                                 BookingVersion bookingVersion, IdempotencyStore idempotencyStore, Venues venues) {
         this.reservationService = reservationService;
+        this.bookingVersion = bookingVersion;
+        this.idempotencyStore = idempotencyStore;
+        this.venues = venues;
+        this.ndjsonWriter = objectMapper.writerFor(ReservationResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
     }
 
     @PostMapping
     public ResponseEntity<ReservationResponseDTO> createReservation(
              @Valid @RequestBody ReservationRequestDTO reservationRequestDTO,
+             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
              Authentication authentication) {
 
         String username = authentication.getName();
-        Reservation reservation = reservationService.createReservation(reservationRequestDTO, username);
-        return new ResponseEntity<>(convertToResponseDTO(reservation), HttpStatus.CREATED);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            Reservation reservation = reservationService.createReservation(reservationRequestDTO, username);
+            return new ResponseEntity<>(convertToResponseDTO(reservation), HttpStatus.CREATED);
+        }
+
+        IdempotencyStore.Result<ReservationResponseDTO> result = idempotencyStore.execute(
+                username, idempotencyKey, reservationRequestDTO,
+                () -> convertToResponseDTO(reservationService.createReservation(reservationRequestDTO, username)));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.value());
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkReservationItemDTO>> createReservations(
+            @RequestBody BulkReservationRequestDTO bulkRequestDTO,
+            Authentication authentication) {
+
+        String username = authentication.getName();
+        return ResponseEntity.ok(reservationService.createReservations(bulkRequestDTO, username));
     }
 
     @GetMapping
-    public ResponseEntity<List<ReservationResponseDTO>> getAllReservations() {
+    public ResponseEntity<List<ReservationResponseDTO>> getAllReservations(WebRequest webRequest) {
+
+        String etag = bookingVersion.etag("reservations", bookingVersion.current());
+        if (webRequest.checkNotModified(etag, bookingVersion.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(reservationService.getReservationResponses());
+    }
 
-        List<Reservation> reservations = reservationService.getAllReservations();
-        List<ReservationResponseDTO> responseList = reservations.stream()
+    @GetMapping("/page")
+    public ResponseEntity<ReservationPageDTO> getReservationsPage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String venue,
+            WebRequest webRequest) {
+
+        Venue pageVenue = venues.resolve(venue);
+
+        long version = startDate != null && endDate != null
+                ? bookingVersion.forRange(startDate, endDate)
+                : bookingVersion.current();
+        String etag = bookingVersion.etag("reservations-" + pageVenue.getId(), version);
+        if (webRequest.checkNotModified(etag, bookingVersion.getLastModified())) {
+            return null;
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Slice<Reservation> page = reservationService.getReservationsPage(pageVenue, startDate, endDate,
+                cursor != null ? ReservationCursor.decode(cursor) : null, pageSize);
+
+        List<ReservationResponseDTO> items = page.getContent().stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(responseList);
+
+        String nextCursor = null;
+        if (page.hasNext()) {
+            ReservationResponseDTO last = items.get(items.size() - 1);
+            nextCursor = new ReservationCursor(last.getDate(), last.getSlotNumber()).encode();
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(new ReservationPageDTO(items, nextCursor));
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportReservations() {
+
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = ndjsonWriter.writeValues(outputStream)) {
+                reservationService.forEachReservationResponse(reservation -> {
+                    try {
+                        writer.write(reservation);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -55,14 +168,16 @@ public class ReservationController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ReservationResponseDTO>> getReservationsByUserId(@PathVariable Long userId) {
-
-        List<Reservation> reservations = reservationService.getReservationsByUserId(userId);
-        List<ReservationResponseDTO> responseList = reservations.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(responseList);
+    public ResponseEntity<List<ReservationResponseDTO>> getReservationsByUserId(@PathVariable Long userId,
+                                                                                WebRequest webRequest) {
+
+        String etag = bookingVersion.etag("reservations", bookingVersion.current());
+        if (webRequest.checkNotModified(etag, bookingVersion.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(reservationService.getReservationResponsesByUserId(userId));
     }
 
     @DeleteMapping("/{id}")
@@ -73,7 +188,7 @@ public class ReservationController {
         return ResponseEntity.noContent().build();
     }
 
-    private ReservationResponseDTO convertToResponseDTO(Reservation reservation) {
+    ReservationResponseDTO convertToResponseDTO(Reservation reservation) {
 
         ReservationResponseDTO responseDTO = new ReservationResponseDTO();
         responseDTO.setId(reservation.getId());
@@ -85,6 +200,7 @@ public class ReservationController {
         responseDTO.setBringOwnFood(reservation.isBringOwnFood());
         responseDTO.setDecorationStyle(reservation.getDecorationStyle());
         responseDTO.setMusicType(reservation.getMusicType());
+        responseDTO.setVenue(reservation.getSlot().getVenue());
 
         return responseDTO;
     }
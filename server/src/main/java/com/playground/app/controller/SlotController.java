@@ -1,23 +1,54 @@
 package com.playground.app.controller;
 
+import com.playground.app.availability.BookingVersion;
+import com.playground.app.availability.SlotSchedule;
+import com.playground.app.availability.Venue;
+import com.playground.app.availability.Venues;
+import com.playground.app.event.SlotEventBroadcaster;
+import com.playground.app.model.dto.ScheduleDTO;
 import com.playground.app.model.dto.SlotDTO;
+import com.playground.app.model.dto.SlotHoldDTO;
+import com.playground.app.model.dto.SlotMaskDTO;
 import com.playground.app.model.entity.Slot;
 import com.playground.app.service.SlotService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/slots")
 public class SlotController {
 
+    /**
+     * Media type of the compact {@link SlotMaskDTO} availability representation
+     */
+    public static final String SLOT_MASK_JSON_VALUE = "application/vnd.playground.slot-mask+json";
+
+
     private final SlotService slotService;
+    private final SlotEventBroadcaster slotEventBroadcaster;
+    private final BookingVersion bookingVersion;
+    private final Venues venues;
 
-    public SlotController(SlotService slotService) {
+    public SlotController(SlotService slotService, SlotEventBroadcaster slotEventBroadcaster,
+                          BookingVersion bookingVersion, Venues venues) {
         this.slotService = slotService;
+        this.slotEventBroadcaster = slotEventBroadcaster;
+        this.bookingVersion = bookingVersion;
+        this.venues = venues;
     }
 
     @GetMapping
@@ -25,6 +56,25 @@ public class SlotController {
         return ResponseEntity.ok(slotService.getAllSlots());
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSlotChanges(HttpServletRequest request, Authentication authentication) {
+        return slotEventBroadcaster.subscribe(streamClient(request, authentication));
+    }
+
+    @GetMapping("/schedule")
+    public ResponseEntity<ScheduleDTO> getSchedule(@RequestParam(required = false) String venue) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1)))
+                .body(toScheduleDTO(venues.resolve(venue)));
+    }
+
+    @GetMapping("/venues")
+    public ResponseEntity<List<ScheduleDTO>> getVenues() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1)))
+                .body(venues.getAll().stream().map(SlotController::toScheduleDTO).toList());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Slot> getSlotById(@PathVariable Long id) {
         return ResponseEntity.ok(slotService.getSlotById(id));
@@ -36,6 +86,26 @@ public class SlotController {
         return ResponseEntity.ok(slotService.getSlotsByDate(date));
     }
 
+    @PostMapping("/{date}/{slotNumber}/hold")
+    public ResponseEntity<SlotHoldDTO> holdSlot(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @PathVariable int slotNumber,
+            @RequestParam(required = false) String venue,
+            Authentication authentication) {
+        return new ResponseEntity<>(slotService.holdSlot(venues.resolve(venue), date, slotNumber, authentication.getName()),
+                HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{date}/{slotNumber}/hold")
+    public ResponseEntity<Void> releaseHold(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @PathVariable int slotNumber,
+            @RequestParam(required = false) String venue,
+            Authentication authentication) {
+        slotService.releaseHold(venues.resolve(venue), date, slotNumber, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/date-range")
     public ResponseEntity<List<Slot>> getSlotsBetweenDates(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
@@ -46,14 +116,110 @@ public class SlotController {
     @GetMapping("/available")
     public ResponseEntity<List<SlotDTO>> getAvailableSlots(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return ResponseEntity.ok(slotService.getAvailableSlotsForDateRange(startDate, endDate));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String venue,
+            WebRequest webRequest) {
+        Venue slotVenue = venues.resolve(venue);
+        if (isNotModified(webRequest, slotVenue, "slots", startDate, endDate)) {
+            return null;
+        }
+        return cacheable().body(slotService.getAvailableSlotsForDateRange(slotVenue, startDate, endDate));
+    }
+
+    @GetMapping(value = "/available", produces = SLOT_MASK_JSON_VALUE)
+    public ResponseEntity<SlotMaskDTO> getAvailableSlotMask(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String venue,
+            WebRequest webRequest) {
+        Venue slotVenue = venues.resolve(venue);
+        if (isNotModified(webRequest, slotVenue, "slots-mask", startDate, endDate)) {
+            return null;
+        }
+        return cacheable().body(SlotMaskDTO.of(startDate, slotVenue.getSchedule().getSlotsPerDay(),
+                slotService.getAvailableMasksForDateRange(slotVenue, startDate, endDate)));
+    }
+
+    @GetMapping(value = "/available", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getAvailableSlotMaskBinary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String venue,
+            WebRequest webRequest) {
+        Venue slotVenue = venues.resolve(venue);
+        if (isNotModified(webRequest, slotVenue, "slots-binary", startDate, endDate)) {
+            return null;
+        }
+        return cacheable().body(SlotMaskDTO.toBinary(startDate, slotVenue.getSchedule().getSlotsPerDay(),
+                slotService.getAvailableMasksForDateRange(slotVenue, startDate, endDate)));
     }
 
     @GetMapping("/booked")
     public ResponseEntity<List<SlotDTO>> getBookedSlots(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return ResponseEntity.ok(slotService.getBookedSlotsForDateRange(startDate, endDate));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String venue,
+            WebRequest webRequest) {
+        Venue slotVenue = venues.resolve(venue);
+        if (isNotModified(webRequest, slotVenue, "slots", startDate, endDate)) {
+            return null;
+        }
+        return cacheable().body(slotService.getBookedSlotsForDateRange(slotVenue, startDate, endDate));
+    }
+
+    @GetMapping(value = "/booked", produces = SLOT_MASK_JSON_VALUE)
+    public ResponseEntity<SlotMaskDTO> getBookedSlotMask(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String venue,
+            WebRequest webRequest) {
+        Venue slotVenue = venues.resolve(venue);
+        if (isNotModified(webRequest, slotVenue, "slots-mask", startDate, endDate)) {
+            return null;
+        }
+        return cacheable().body(SlotMaskDTO.of(startDate, slotVenue.getSchedule().getSlotsPerDay(),
+                slotService.getBookedMasksForDateRange(slotVenue, startDate, endDate)));
+    }
+
+    @GetMapping(value = "/booked", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getBookedSlotMaskBinary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String venue,
+            WebRequest webRequest) {
+        Venue slotVenue = venues.resolve(venue);
+        if (isNotModified(webRequest, slotVenue, "slots-binary", startDate, endDate)) {
+            return null;
+        }
+        return cacheable().body(SlotMaskDTO.toBinary(startDate, slotVenue.getSchedule().getSlotsPerDay(),
+                slotService.getBookedMasksForDateRange(slotVenue, startDate, endDate)));
+    }
+
+    private boolean isNotModified(WebRequest webRequest, Venue venue, String representation,
+                                  LocalDate startDate, LocalDate endDate) {
+        String etag = bookingVersion.etag(representation + "-" + venue.getId(), bookingVersion.forRange(startDate, endDate));
+        return webRequest.checkNotModified(etag, bookingVersion.getLastModified());
+    }
+
+    // Authenticated subscribers are counted per user, so clients sharing an address do not share a cap;
+    // the remote address honours X-Forwarded-For from trusted proxies (server.forward-headers-strategy)
+    private static String streamClient(HttpServletRequest request, Authentication authentication) {
+        return authentication != null ? "user:" + authentication.getName() : "address:" + request.getRemoteAddr();
+    }
+
+    private static ScheduleDTO toScheduleDTO(Venue venue) {
+        SlotSchedule schedule = venue.getSchedule();
+        List<ScheduleDTO.Window> windows = new ArrayList<>(schedule.getSlotsPerDay());
+        for (int slotNumber = 0; slotNumber < schedule.getSlotsPerDay(); slotNumber++) {
+            windows.add(new ScheduleDTO.Window(slotNumber, schedule.getStart(slotNumber), schedule.getEnd(slotNumber)));
+        }
+        return new ScheduleDTO(venue.getId(), windows, schedule.getClosedDays(), schedule.getBlackoutDates());
+    }
+
+    // The same URL has several representations, so caches must key on Accept as well
+    private static ResponseEntity.BodyBuilder cacheable() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT);
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,16 @@
 package com.playground.app.controller;
 
+import com.playground.app.exception.TooManyRequestsException;
+import com.playground.app.exception.UserAlreadyExistsException;
 import com.playground.app.model.dto.*;
 import com.playground.app.model.entity.User;
+import com.playground.app.security.JwtAuthenticationFilter;
 import com.playground.app.security.JwtTokenProvider;
+import com.playground.app.security.TokenDenyList;
+import com.playground.app.security.TokenVerificationCache;
 import com.playground.app.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -24,26 +31,28 @@ public class UserController {
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final TokenDenyList tokenDenyList;
+    private final TokenVerificationCache tokenCache;
 
     @Autowired
     public UserController(UserService userService, AuthenticationManager authenticationManager,
-                          JwtTokenProvider tokenProvider) {
+                          JwtTokenProvider tokenProvider, TokenDenyList tokenDenyList,
+                          TokenVerificationCache tokenCache) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
+        this.tokenDenyList = tokenDenyList;
+        this.tokenCache = tokenCache;
     }
 
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationDTO registrationDTO) {
-        if (userService.existsByUsername(registrationDTO.getUsername())) {
-            return ResponseEntity.badRequest().body("Username is already taken!");
-        }
-
-        if (userService.existsByEmail(registrationDTO.getEmail())) {
-            return ResponseEntity.badRequest().body("Email is already in use!");
+        User savedUser;
+        try {
+            savedUser = userService.registerUser(registrationDTO);
+        } catch (UserAlreadyExistsException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-
-        User savedUser = userService.registerUser(registrationDTO);
         UserDTO userDTO = convertToDTO(savedUser);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(userDTO);
@@ -61,11 +70,12 @@ public class UserController {
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            String jwt = tokenProvider.generateToken(loginDTO.getUsername());
-
             User user = userService.findByUsername(loginDTO.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
+            String jwt = tokenProvider.generateToken(user.getUsername(), user.getId(),
+                    authentication.getAuthorities());
+
             JwtResponseDTO response = new JwtResponseDTO(jwt, "Bearer",
                     user.getId(),
                     user.getUsername(),
@@ -74,10 +84,33 @@ public class UserController {
             return ResponseEntity.ok(response);
 
         } catch (AuthenticationException e) {
+            // Unknown users are checked against a dummy hash, where a saturated hashing pool arrives wrapped
+            if (e.getCause() instanceof TooManyRequestsException tooManyRequests) {
+                throw tooManyRequests;
+            }
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        String jwt = JwtAuthenticationFilter.extractToken(authorization);
+        if (jwt == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Claims claims;
+        try {
+            claims = tokenProvider.getAllClaimsFromToken(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        tokenDenyList.revoke(claims.getId(), claims.getExpiration());
+        tokenCache.evict(jwt);
+
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
     public ResponseEntity<UserDTO> getCurrentUser(Authentication authentication) {
         String username = authentication.getName();
@@ -99,10 +132,7 @@ public class UserController {
 
     @GetMapping("/{id}")
     public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id) {
-        User user = userService.getUserById(id);
-        UserResponseDTO userResponseDTO = convertToResponseDTO(user);
-
-        return ResponseEntity.ok(userResponseDTO);
+        return ResponseEntity.ok(userService.getUserResponse(id));
     }
 
     @GetMapping("/username/{username}")
@@ -137,14 +167,4 @@ public class UserController {
                 user.getCreationDate()
         );
     }
-
-    private UserResponseDTO convertToResponseDTO(User user) {
-        return new UserResponseDTO(
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getCreationDate(),
-                user.getReservations()
-        );
-    }
 }
\ No newline at end of file
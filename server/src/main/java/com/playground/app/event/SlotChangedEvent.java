@@ -0,0 +1,25 @@
+package com.playground.app.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever a slot becomes booked or free again.
+ * Listeners that mirror booking state should react after commit only.
+ */
+@Getter
+@AllArgsConstructor
+public class SlotChangedEvent {
+
+    private final Long slotId;
+
+    private final String venue;
+
+    private final LocalDate date;
+
+    private final int slotNumber;
+
+    private final boolean booked;
+}
@@ -0,0 +1,174 @@
+package com.playground.app.event;
+
+import com.playground.app.exception.TooManyRequestsException;
+import com.playground.app.model.dto.SlotDeltaDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes committed slot changes to every open Server-Sent Events subscription.
+ * Emitters are async, so open connections hold no request thread; deltas are
+ * fanned out from a single dispatcher thread instead of the committing request.
+ * The dispatcher only queues deltas: each subscriber is written to from its own virtual
+ * thread, and one whose queue fills up or whose write outlives the send timeout is dropped.
+ * Subscriptions are capped in total and per client, where a client is the authenticated
+ * user or, for anonymous subscribers, the remote address.
+ */
+@Component
+public class SlotEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotEventBroadcaster.class);
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> subscribersByClient = new HashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("slot-events").daemon().factory());
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("slot-events-send-", 0).factory());
+    private final LongAdder dropped = new LongAdder();
+    private final long emitterTimeout;
+    private final int maxSubscribers;
+    private final int maxSubscribersPerClient;
+    private final int bufferSize;
+    private final long sendTimeoutNanos;
+
+    public SlotEventBroadcaster(@Value("${slots.stream.timeout:1800000}") long emitterTimeout,
+                                @Value("${slots.stream.max-subscribers:1000}") int maxSubscribers,
+                                @Value("${slots.stream.max-subscribers-per-client:5}") int maxSubscribersPerClient,
+                                @Value("${slots.stream.buffer-size:64}") int bufferSize,
+                                @Value("${slots.stream.send-timeout:5000}") long sendTimeout) {
+        this.emitterTimeout = emitterTimeout;
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerClient = maxSubscribersPerClient;
+        this.bufferSize = bufferSize;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeout);
+    }
+
+    public SseEmitter subscribe(String client) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        Subscriber subscriber = register(emitter, client);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unregister(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onSlotChanged(SlotChangedEvent event) {
+        SlotDeltaDTO delta = new SlotDeltaDTO(event.getDate(), event.getSlotNumber(), event.isBooked(), event.getVenue());
+        dispatcher.execute(() -> broadcast(delta));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    synchronized Subscriber register(SseEmitter emitter, String client) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManyRequestsException("Too many open slot streams, try again later");
+        }
+        int fromClient = subscribersByClient.getOrDefault(client, 0);
+        if (fromClient >= maxSubscribersPerClient) {
+            throw new TooManyRequestsException("Too many open slot streams for this client");
+        }
+        Subscriber subscriber = new Subscriber(emitter, client, new ArrayBlockingQueue<>(bufferSize));
+        subscribersByClient.put(client, fromClient + 1);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    private synchronized boolean unregister(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        subscribersByClient.computeIfPresent(subscriber.client, (key, count) -> count > 1 ? count - 1 : null);
+        return true;
+    }
+
+    void broadcast(SlotDeltaDTO delta) {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > sendTimeoutNanos) {
+                drop(subscriber, "send timed out");
+            } else if (!subscriber.pending.offer(delta)) {
+                drop(subscriber, "too far behind");
+            } else if (subscriber.draining.compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SlotDeltaDTO delta;
+            while ((delta = subscriber.pending.poll()) != null) {
+                subscriber.sendingSince = System.nanoTime();
+                try {
+                    subscriber.emitter.send(SseEmitter.event().name("slot").data(delta, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping slot event subscriber: {}", e.getMessage());
+                    unregister(subscriber);
+                    return;
+                } finally {
+                    subscriber.sendingSince = 0;
+                }
+            }
+            subscriber.draining.set(false);
+            // A delta queued after the last poll but before the flag was cleared still needs a sender
+        } while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (unregister(subscriber)) {
+            dropped.increment();
+            log.debug("Dropping stalled slot event subscriber of {}: {}", subscriber.client, reason);
+            subscriber.emitter.complete();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String client;
+        private final BlockingQueue<SlotDeltaDTO> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter, String client, BlockingQueue<SlotDeltaDTO> pending) {
+            this.emitter = emitter;
+            this.client = client;
+            this.pending = pending;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.playground.app.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a user is deleted, so anything holding on to the user can let go after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class UserDeletedEvent {
+
+    private final String username;
+}
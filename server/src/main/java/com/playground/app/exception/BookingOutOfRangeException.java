@@ -0,0 +1,11 @@
+package com.playground.app.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BookingOutOfRangeException extends RuntimeException {
+    public BookingOutOfRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,115 @@
+package com.playground.app.idempotency;
+
+import com.playground.app.exception.IdempotencyKeyReusedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Results of requests sent with an {@code Idempotency-Key}, kept for a limited time per user.
+ * A replayed key returns the stored result without running the action again; a retry that
+ * arrives while the first attempt is still running waits for its outcome instead of racing it.
+ * Failed attempts are not kept, so they can be retried with the same key.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long waitMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder replays = new LongAdder();
+
+    public IdempotencyStore(@Value("${idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${idempotency.ttl:86400000}") long ttlMillis,
+                            @Value("${idempotency.wait-timeout:30000}") long waitMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.waitMillis = waitMillis;
+    }
+
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    /**
+     * Runs the action once per (scope, key); {@code request} must be equal across retries of the same key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String scope, String key, Object request, Supplier<T> action) {
+        String storeKey = scope + '\n' + key;
+        Entry entry = new Entry(request, new CompletableFuture<>(), System.currentTimeMillis() + ttlMillis);
+
+        Entry existing = entries.putIfAbsent(storeKey, entry);
+        if (existing != null && existing.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(storeKey, existing);
+            existing = entries.putIfAbsent(storeKey, entry);
+        }
+        if (existing != null) {
+            if (!Objects.equals(existing.request, request)) {
+                throw new IdempotencyKeyReusedException("Idempotency-Key " + key + " was already used for a different request");
+            }
+            replays.increment();
+            return new Result<>((T) await(existing.result), true);
+        }
+
+        if (entries.size() > maxEntries) {
+            purgeExpired();
+        }
+
+        try {
+            T value = action.get();
+            entry.result.complete(value);
+            if (entries.size() > maxEntries) {
+                // Full of live entries: serve the waiting retries, then give the slot back
+                entries.remove(storeKey, entry);
+            }
+            return new Result<>(value, false);
+        } catch (RuntimeException e) {
+            entries.remove(storeKey, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public long getReplayCount() {
+        return replays.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for the original request with the same Idempotency-Key", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request", e);
+        }
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result, long expiresAt) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.playground.app.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Moves databases created while ids were IDENTITY columns onto the pooled sequences
+ * the entities use (allocationSize = 50). Such databases are adopted as version 1, so
+ * this runs right after the baseline; on a schema created by V1 it only finds empty tables.
+ */
+public class V1_1__IdentityToSequence extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        convert(connection, "reservation", "reservation_id", "reservation_seq");
+        convert(connection, "slot", "slot_id", "slot_seq");
+        convert(connection, "user", "id", "user_seq");
+    }
+
+    private void convert(Connection connection, String table, String column, String sequence) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create sequence if not exists " + sequence + " start with 1 increment by " + ALLOCATION_SIZE);
+
+            // The first pooled block ends at the value handed out, so it must start above the current maximum id
+            try (ResultSet max = statement.executeQuery("select max(" + column + ") from \"" + table + "\"")) {
+                if (max.next() && max.getObject(1) != null) {
+                    statement.execute("alter sequence " + sequence + " restart with " + (max.getLong(1) + ALLOCATION_SIZE));
+                }
+            }
+
+            if (isIdentity(connection, table, column)) {
+                statement.execute("alter table \"" + table + "\" alter column " + column + " drop identity");
+            }
+        }
+    }
+
+    private boolean isIdentity(Connection connection, String table, String column) throws SQLException {
+        String sql = "select is_identity from information_schema.columns " +
+                "where table_schema = ? and table_name = ? and column_name = ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, connection.getSchema());
+            statement.setString(2, table);
+            statement.setString(3, column);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && "YES".equalsIgnoreCase(result.getString(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.playground.app.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Drops any unique key left on exactly (date, slot_number) of "slot", which would still stop
+ * two venues from booking the same slot. V4 removes it by name on schemas created by V1;
+ * on databases adopted at the baseline it was created by ddl-auto under a generated UK name.
+ */
+public class V4_1__DropSlotDateSlotNumberKey extends BaseJavaMigration {
+
+    private static final Set<String> COLUMNS = Set.of("date", "slot_number");
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String constraint : findUniqueKeysOnColumns(connection)) {
+                statement.execute("alter table \"slot\" drop constraint \"" + constraint.replace("\"", "\"\"") + "\"");
+            }
+        }
+    }
+
+    private List<String> findUniqueKeysOnColumns(Connection connection) throws SQLException {
+        String sql = "select tc.constraint_name, kcu.column_name " +
+                "from information_schema.table_constraints tc " +
+                "join information_schema.key_column_usage kcu " +
+                "on kcu.constraint_schema = tc.constraint_schema and kcu.constraint_name = tc.constraint_name " +
+                "where tc.constraint_type = 'UNIQUE' and tc.table_schema = ? and tc.table_name = 'slot'";
+        Map<String, Set<String>> columnsByConstraint = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, connection.getSchema());
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    columnsByConstraint.computeIfAbsent(result.getString(1), name -> new TreeSet<>())
+                            .add(result.getString(2).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        List<String> matching = new ArrayList<>();
+        columnsByConstraint.forEach((name, columns) -> {
+            if (columns.equals(COLUMNS)) {
+                matching.add(name);
+            }
+        });
+        return matching;
+    }
+}
@@ -0,0 +1,24 @@
+package com.playground.app.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReservationItemDTO {
+
+    public enum Status {
+        BOOKED, CONFLICT, INVALID
+    }
+
+    private LocalDate date;
+    private Integer slotNumber;
+    private Status status;
+    private Long reservationId;
+    private String message;
+    private String venue;
+}
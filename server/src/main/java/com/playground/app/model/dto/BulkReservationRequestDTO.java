@@ -0,0 +1,39 @@
+package com.playground.app.model.dto;
+
+import com.playground.app.model.entity.Gender;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Books many slots with the same party details, given explicitly, as a weekly recurrence, or both.
+ * Slots without a venue are booked at the request's venue, or at the default venue.
+ */
+@Getter
+@Setter
+public class BulkReservationRequestDTO {
+    private List<SlotDTO> slots = new ArrayList<>();
+    private Recurrence recurrence;
+    private Gender gender;
+    private boolean bringOwnFood;
+    private String decorations;
+    private String music;
+    private String venue;
+
+    /**
+     * Every given weekday between startDate and endDate (inclusive) at slotNumber
+     */
+    @Getter
+    @Setter
+    public static class Recurrence {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private Set<DayOfWeek> daysOfWeek;
+        private Integer slotNumber;
+    }
+}
@@ -0,0 +1,41 @@
+package com.playground.app.model.dto;
+
+import com.playground.app.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (date, slotNumber) ordering of one venue's reservations.
+ * Slots are unique per date, slot number and venue, and a page never spans venues,
+ * so the pair identifies exactly one row.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationCursor {
+
+    private final LocalDate date;
+
+    private final int slotNumber;
+
+    public String encode() {
+        String raw = date + ":" + slotNumber;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReservationCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new ReservationCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Integer.parseInt(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.playground.app.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationPageDTO {
+
+    private List<ReservationResponseDTO> items;
+
+    /**
+     * Opaque token for the next page, null on the last page
+     */
+    private String nextCursor;
+}
@@ -1,6 +1,7 @@
 package com.playground.app.model.dto;
 
 import com.playground.app.model.entity.Gender;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,6 +11,7 @@ import java.time.LocalTime;
 
 @Getter
 @Setter
+@EqualsAndHashCode
 public class ReservationRequestDTO {
     private Integer slotNumber;
     private LocalDate date;
@@ -17,4 +19,5 @@ public class ReservationRequestDTO {
     private boolean bringOwnFood;
     private String decorations;
     private String music;
+    private String venue;
 }
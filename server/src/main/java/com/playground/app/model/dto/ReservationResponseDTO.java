@@ -1,6 +1,7 @@
 package com.playground.app.model.dto;
 
 import com.playground.app.model.entity.Gender;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -9,6 +10,7 @@ import java.time.LocalTime;
 
 @Data
 @NoArgsConstructor
+@AllArgsConstructor
 public class ReservationResponseDTO {
     private Long id;
     private Long userId;
@@ -19,4 +21,5 @@ public class ReservationResponseDTO {
     private boolean bringOwnFood;
     private String decorationStyle;
     private String musicType;
+    private String venue;
 }
\ No newline at end of file
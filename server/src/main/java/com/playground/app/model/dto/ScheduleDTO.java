@@ -0,0 +1,30 @@
+package com.playground.app.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleDTO {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Window {
+        private Integer slotNumber;
+        private LocalTime start;
+        private LocalTime end;
+    }
+
+    private String venue;
+    private List<Window> slots;
+    private List<DayOfWeek> closedDays;
+    private List<LocalDate> blackoutDates;
+}
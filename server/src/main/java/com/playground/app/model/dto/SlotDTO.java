@@ -15,5 +15,9 @@ public class SlotDTO {
     private LocalDate date;
     private Integer slotNumber;
     private boolean available;
+    private String venue;
 
+    public SlotDTO(Long id, LocalDate date, Integer slotNumber, boolean available) {
+        this(id, date, slotNumber, available, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.playground.app.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotDeltaDTO {
+    private LocalDate date;
+    private Integer slotNumber;
+    private boolean booked;
+    private String venue;
+}
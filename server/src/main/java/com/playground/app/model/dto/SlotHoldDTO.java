@@ -0,0 +1,20 @@
+package com.playground.app.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class SlotHoldDTO {
+
+    private final LocalDate date;
+
+    private final int slotNumber;
+
+    private final Instant expiresAt;
+
+    private final String venue;
+}
@@ -0,0 +1,59 @@
+package com.playground.app.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Compact availability for a date range: a fixed-width group of hex digits per day starting
+ * at {@code start}, where bit n of a day's group stands for slot n. With three slots per day
+ * every day is a single digit between 0 and 7.
+ */
+@Getter
+@AllArgsConstructor
+public class SlotMaskDTO {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final LocalDate start;
+
+    private final int slotsPerDay;
+
+    private final String mask;
+
+    public static SlotMaskDTO of(LocalDate start, int slotsPerDay, int[] masks) {
+        int width = (slotsPerDay + 3) / 4;
+        char[] digits = new char[masks.length * width];
+        for (int day = 0; day < masks.length; day++) {
+            for (int digit = 0; digit < width; digit++) {
+                int shift = (width - 1 - digit) * 4;
+                digits[day * width + digit] = HEX_DIGITS[(masks[day] >>> shift) & 0xF];
+            }
+        }
+        return new SlotMaskDTO(start, slotsPerDay, new String(digits));
+    }
+
+    /**
+     * Binary form: start epoch day, day count and slots per day as big-endian ints, then the
+     * day masks packed least significant bit first, {@code slotsPerDay} bits per day
+     */
+    public static byte[] toBinary(LocalDate start, int slotsPerDay, int[] masks) {
+        ByteBuffer buffer = ByteBuffer.allocate(12 + (int) (((long) masks.length * slotsPerDay + 7) / 8));
+        buffer.putInt((int) start.toEpochDay());
+        buffer.putInt(masks.length);
+        buffer.putInt(slotsPerDay);
+
+        byte[] packed = buffer.array();
+        long dayBits = (1L << slotsPerDay) - 1;
+        for (int day = 0; day < masks.length; day++) {
+            long bit = (long) day * slotsPerDay;
+            long value = (masks[day] & dayBits) << (bit & 7);
+            for (int index = 12 + (int) (bit >> 3); value != 0; index++, value >>>= 8) {
+                packed[index] |= (byte) value;
+            }
+        }
+        return packed;
+    }
+}
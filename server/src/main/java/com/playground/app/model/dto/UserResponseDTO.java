@@ -1,7 +1,6 @@
 package com.playground.app.model.dto;
 
 
-import com.playground.app.model.entity.Reservation;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * User profile with a summary of its reservations; the reservations themselves
+ * are served by /api/reservations/user/{userId}.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,5 +25,11 @@ public class UserResponseDTO {
 
     private LocalDateTime creationDate;
 
-    private List<Reservation> reservations;
-}
\ No newline at end of file
+    private long reservationCount;
+
+    private List<Long> reservationIds;
+
+    public UserResponseDTO(Long id, String username, String email, LocalDateTime creationDate, long reservationCount) {
+        this(id, username, email, creationDate, reservationCount, List.of());
+    }
+}
@@ -9,7 +9,7 @@ import java.time.LocalDate;
 @Entity
 @Getter
 @Setter
-@Table(name = "\"slot\"", uniqueConstraints = @UniqueConstraint(columnNames = {"date", "slot_number"}))
+@Table(name = "\"slot\"", uniqueConstraints = @UniqueConstraint(columnNames = {"date", "slot_number", "venue"}))
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -17,7 +17,8 @@ public class Slot {
 
     @Id
     @Column(name = "slot_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "slot_seq")
+    @SequenceGenerator(name = "slot_seq", sequenceName = "slot_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "date")
@@ -26,6 +27,9 @@ public class Slot {
     @Column(name = "slot_number")
     private Integer slotNumber;
 
+    @Column(name = "venue", length = 64, nullable = false)
+    private String venue;
+
     @OneToOne(mappedBy = "slot")
     @JsonManagedReference
     private Reservation reservation;
@@ -0,0 +1,148 @@
+package com.playground.app.outbox;
+
+import com.playground.app.model.entity.OutboxEvent;
+import com.playground.app.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Polls the outbox table in batches from a single background thread and hands each committed
+ * event to every {@link OutboxHandler} that supports it. An event is deleted once all of them
+ * succeed; otherwise it is retried later with exponential backoff, so side effects never run
+ * on the request thread and never run for a rolled-back change.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private ScheduledExecutorService poller;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<OutboxHandler> handlers,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${outbox.dispatcher.enabled:true}") boolean enabled,
+                            @Value("${outbox.batch-size:100}") int batchSize,
+                            @Value("${outbox.poll-interval:1000}") long pollIntervalMillis,
+                            @Value("${outbox.retry.initial-backoff:1000}") long initialBackoffMillis,
+                            @Value("${outbox.retry.max-backoff:600000}") long maxBackoffMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("outbox-dispatcher").daemon().factory());
+        poller.scheduleWithFixedDelay(this::drain, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    /**
+     * Delivers one batch of due events in its own transaction
+     *
+     * @return how many events were taken from the outbox, delivered or not
+     */
+    public int dispatchBatch() {
+        Integer processed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> due = outboxEventRepository.findDue(now, PageRequest.of(0, batchSize));
+            for (OutboxEvent event : due) {
+                try {
+                    deliver(event);
+                    outboxEventRepository.delete(event);
+                    delivered.increment();
+                } catch (Exception e) {
+                    scheduleRetry(event, now, e);
+                    failed.increment();
+                }
+            }
+            return due.size();
+        });
+        return processed != null ? processed : 0;
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    // Keeps going while batches come back full, then waits for the next poll
+    private void drain() {
+        try {
+            while (dispatchBatch() == batchSize && !Thread.currentThread().isInterrupted()) {
+                log.debug("Outbox batch full, polling again");
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox dispatch failed, retrying in {} ms", pollIntervalMillis, e);
+        }
+    }
+
+    private void deliver(OutboxEvent event) throws Exception {
+        OutboxMessage message = new OutboxMessage(event.getId(), event.getEventType(), event.getAggregateId(),
+                event.getPayload(), event.getAttempts() + 1);
+        for (OutboxHandler handler : handlers) {
+            if (handler.supports(event.getEventType())) {
+                handler.handle(message);
+            }
+        }
+    }
+
+    private void scheduleRetry(OutboxEvent event, LocalDateTime now, Exception error) {
+        int attempts = event.getAttempts() + 1;
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+
+        String message = error.toString();
+        event.setAttempts(attempts);
+        event.setAvailableAt(now.plus(backoff));
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        log.warn("Outbox event {} ({}) failed on attempt {}, retrying in {}",
+                event.getId(), event.getEventType(), attempts, backoff, error);
+    }
+}
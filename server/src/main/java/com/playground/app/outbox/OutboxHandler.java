@@ -0,0 +1,13 @@
+package com.playground.app.outbox;
+
+/**
+ * Side effect run by {@link OutboxDispatcher} for committed outbox events.
+ * Delivery is at least once: a message is handed out again when any handler for it fails,
+ * or when the instance stops before deleting it, so handlers must tolerate duplicates.
+ */
+public interface OutboxHandler {
+
+    boolean supports(String eventType);
+
+    void handle(OutboxMessage message) throws Exception;
+}
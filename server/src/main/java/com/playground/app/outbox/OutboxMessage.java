@@ -0,0 +1,9 @@
+package com.playground.app.outbox;
+
+/**
+ * An outbox event as handed to {@link OutboxHandler}s
+ *
+ * @param attempt 1 on the first delivery, higher when an earlier delivery failed
+ */
+public record OutboxMessage(long id, String eventType, Long aggregateId, String payload, int attempt) {
+}
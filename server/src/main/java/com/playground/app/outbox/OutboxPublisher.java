@@ -0,0 +1,55 @@
+package com.playground.app.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playground.app.model.entity.OutboxEvent;
+import com.playground.app.model.entity.Reservation;
+import com.playground.app.model.entity.Slot;
+import com.playground.app.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records outbox events in the caller's transaction, so they are delivered only if it commits
+ */
+@Component
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, Long aggregateId, Object payload) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setAggregateId(aggregateId);
+        event.setPayload(toJson(payload));
+        event.setCreatedAt(now);
+        event.setAvailableAt(now);
+        outboxEventRepository.save(event);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishReservation(String eventType, Reservation reservation) {
+        Slot slot = reservation.getSlot();
+        publish(eventType, reservation.getId(), new ReservationEvent(reservation.getId(),
+                reservation.getUser().getId(), slot.getDate(), slot.getSlotNumber(), slot.getVenue()));
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload cannot be serialized: " + payload, e);
+        }
+    }
+}
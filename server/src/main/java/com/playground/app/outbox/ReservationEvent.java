@@ -0,0 +1,12 @@
+package com.playground.app.outbox;
+
+import java.time.LocalDate;
+
+/**
+ * Outbox payload of a reservation that was made or cancelled
+ */
+public record ReservationEvent(Long reservationId, Long userId, LocalDate date, int slotNumber, String venue) {
+
+    public static final String CREATED = "reservation.created";
+    public static final String CANCELLED = "reservation.cancelled";
+}
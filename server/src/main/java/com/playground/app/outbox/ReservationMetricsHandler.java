@@ -0,0 +1,30 @@
+package com.playground.app.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts committed reservation changes for analytics dashboards
+ */
+@Component
+public class ReservationMetricsHandler implements OutboxHandler {
+
+    private final Counter created;
+    private final Counter cancelled;
+
+    public ReservationMetricsHandler(MeterRegistry meterRegistry) {
+        this.created = Counter.builder("reservations.changes").tag("type", "created").register(meterRegistry);
+        this.cancelled = Counter.builder("reservations.changes").tag("type", "cancelled").register(meterRegistry);
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return ReservationEvent.CREATED.equals(eventType) || ReservationEvent.CANCELLED.equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxMessage message) {
+        (ReservationEvent.CREATED.equals(message.eventType()) ? created : cancelled).increment();
+    }
+}
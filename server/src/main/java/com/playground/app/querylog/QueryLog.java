@@ -0,0 +1,145 @@
+package com.playground.app.querylog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Decides which JDBC statements get logged and writes them from a background thread.
+ * Statements at least {@code slowThreshold} long are always logged and the others with
+ * probability {@code sampleRate}. Query threads only time the statement and offer an entry
+ * to a bounded queue; formatting and I/O happen on the writer thread, and entries that do
+ * not fit in the queue are dropped and counted instead of blocking the query.
+ */
+public class QueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryLog.class);
+
+    static final String REDACTED = "<redacted>";
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final boolean redactParameters;
+    private final BlockingQueue<Entry> queue;
+    private final Consumer<String> sink;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private Thread writer;
+
+    public QueryLog(long slowThresholdMillis, double sampleRate, boolean redactParameters, int queueCapacity) {
+        this(slowThresholdMillis, sampleRate, redactParameters, queueCapacity, log::info);
+    }
+
+    QueryLog(long slowThresholdMillis, double sampleRate, boolean redactParameters, int queueCapacity,
+             Consumer<String> sink) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.sampleRate = sampleRate;
+        this.redactParameters = redactParameters;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.sink = sink;
+    }
+
+    public void start() {
+        writer = Thread.ofPlatform().name("query-log").daemon().start(this::drain);
+    }
+
+    public void shutdown() {
+        if (writer != null) {
+            writer.interrupt();
+        }
+    }
+
+    /**
+     * Whether bind parameter values are needed at all, so statements can skip keeping them
+     */
+    boolean capturesValues() {
+        return !redactParameters;
+    }
+
+    /**
+     * Whether a statement that took this long is slow or sampled, and should be {@link #record recorded}
+     */
+    boolean shouldLog(long elapsedNanos) {
+        return elapsedNanos >= slowThresholdNanos
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Queues the statement for the writer thread; never blocks
+     *
+     * @param parameters bind values by position, or {@code null} when values are redacted
+     * @param batchSize  rows sent in one batch, 0 for a single execution
+     */
+    void record(String sql, long elapsedNanos, Object[] parameters, int parameterCount, int batchSize) {
+        if (!queue.offer(new Entry(sql, elapsedNanos, elapsedNanos >= slowThresholdNanos, parameters,
+                parameterCount, batchSize, Thread.currentThread().getName()))) {
+            dropped.increment();
+        }
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Entry entry = queue.take();
+                sink.accept(format(entry));
+                written.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // One line of key=value pairs per statement, so log pipelines can parse it
+    static String format(Entry entry) {
+        StringBuilder line = new StringBuilder(128 + entry.sql.length())
+                .append("slow=").append(entry.slow)
+                .append(" elapsed_ms=").append(String.format("%.3f", entry.elapsedNanos / 1_000_000.0))
+                .append(" thread=").append(entry.thread);
+        if (entry.batchSize > 0) {
+            line.append(" batch=").append(entry.batchSize);
+        }
+        if (entry.parameterCount > 0) {
+            line.append(" params=[");
+            for (int i = 0; i < entry.parameterCount; i++) {
+                if (i > 0) {
+                    line.append(", ");
+                }
+                line.append(entry.parameters == null ? REDACTED : render(entry.parameters[i]));
+            }
+            line.append(']');
+        }
+        return line.append(" sql=\"").append(entry.sql.replaceAll("\\s+", " ").trim()).append('"').toString();
+    }
+
+    private static String render(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (value instanceof CharSequence || value instanceof Character) {
+            return "'" + value + "'";
+        }
+        return value instanceof Object[] array ? Arrays.toString(array) : value.toString();
+    }
+
+    record Entry(String sql, long elapsedNanos, boolean slow, Object[] parameters, int parameterCount,
+                 int batchSize, String thread) {
+    }
+}
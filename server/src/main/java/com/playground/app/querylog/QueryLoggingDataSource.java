@@ -0,0 +1,173 @@
+package com.playground.app.querylog;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Times every statement executed through its connections and reports it to a {@link QueryLog}.
+ * Bind parameters are kept by reference only while values are logged, and only rendered
+ * to text for the statements that end up in the log.
+ */
+public class QueryLoggingDataSource extends DelegatingDataSource {
+
+    private final QueryLog queryLog;
+
+    public QueryLoggingDataSource(DataSource targetDataSource, QueryLog queryLog) {
+        super(targetDataSource);
+        this.queryLog = queryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return invokeOnProxy(proxy, connection, method, args);
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && method.getName().startsWith("prepare")) {
+                        return wrap(statement, method.getReturnType(), (String) args[0]);
+                    }
+                    if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                        return wrap(statement, Statement.class, null);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement wrap(Statement statement, Class<?> type, String preparedSql) {
+        StatementState state = new StatementState(preparedSql, queryLog.capturesValues());
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return invokeOnProxy(proxy, statement, method, args);
+                    }
+                    String name = method.getName();
+                    if (name.startsWith("execute")) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : state.sql;
+                        boolean batch = name.equals("executeBatch") || name.equals("executeLargeBatch");
+                        long start = System.nanoTime();
+                        try {
+                            return invoke(statement, method, args);
+                        } finally {
+                            state.report(sql, System.nanoTime() - start, batch);
+                        }
+                    }
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        state.bind(index, name.equals("setNull") ? null : args[1]);
+                    } else if (name.equals("addBatch")) {
+                        state.addBatch(args != null && args.length > 0 ? (String) args[0] : null);
+                    } else if (name.equals("clearParameters")) {
+                        state.clearParameters();
+                    } else if (name.equals("clearBatch")) {
+                        state.batchSize = 0;
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static boolean isIdentityMethod(Method method) {
+        return switch (method.getName()) {
+            case "equals", "hashCode", "unwrap", "isWrapperFor" -> true;
+            default -> false;
+        };
+    }
+
+    // The proxies equal only themselves, and unwrap to themselves before the object they wrap
+    private static Object invokeOnProxy(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "unwrap" -> ((Class<?>) args[0]).isInstance(proxy) ? proxy : invoke(target, method, args);
+            case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(proxy) || (boolean) invoke(target, method, args);
+            default -> invoke(target, method, args);
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Per-statement bookkeeping; JDBC statements are used by one thread at a time
+     */
+    private final class StatementState {
+
+        private String sql;
+        private final boolean captureValues;
+        private Object[] parameters;
+        private int parameterCount;
+        private int batchSize;
+
+        StatementState(String sql, boolean captureValues) {
+            this.sql = sql;
+            this.captureValues = captureValues;
+        }
+
+        void bind(int index, Object value) {
+            parameterCount = Math.max(parameterCount, index);
+            if (!captureValues) {
+                return;
+            }
+            if (parameters == null) {
+                parameters = new Object[Math.max(8, index)];
+            } else if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+        }
+
+        void addBatch(String batchSql) {
+            if (batchSql != null) {
+                sql = batchSql;
+            }
+            batchSize++;
+        }
+
+        void clearParameters() {
+            parameterCount = 0;
+            if (parameters != null) {
+                Arrays.fill(parameters, null);
+            }
+        }
+
+        void report(String executedSql, long elapsedNanos, boolean batch) {
+            int rows = batchSize;
+            if (batch) {
+                batchSize = 0;
+            }
+            if (!queryLog.shouldLog(elapsedNanos)) {
+                return;
+            }
+            // Values of a batch belong to its last row only, so batches are logged without them
+            int count = batch ? 0 : parameterCount;
+            Object[] values = captureValues && count > 0 ? Arrays.copyOf(parameters, count) : null;
+            queryLog.record(executedSql != null ? executedSql : "", elapsedNanos, values, count, batch ? rows : 0);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.playground.app.registration;
+
+import com.playground.app.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filters of every username and email in use. A negative answer is definite,
+ * so availability checks only reach the database when a name might be taken.
+ * Deleted users stay in the filters, which only costs the occasional extra query.
+ */
+@Component
+public class RegisteredIdentifiers {
+
+    private final UserRepository userRepository;
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private final LongAdder definiteNegatives = new LongAdder();
+    private final LongAdder possiblePositives = new LongAdder();
+
+    public RegisteredIdentifiers(UserRepository userRepository,
+                                 @Value("${registration.filter.expected-users:100000}") int expectedUsers,
+                                 @Value("${registration.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        userRepository.findAllUsernames().forEach(usernames::add);
+        userRepository.findAllEmails().forEach(emails::add);
+    }
+
+    public void add(String username, String email) {
+        usernames.add(username);
+        emails.add(email);
+    }
+
+    public boolean mightContainUsername(String username) {
+        return record(usernames.mightContain(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        return record(emails.mightContain(email));
+    }
+
+    public long getDefiniteNegativeCount() {
+        return definiteNegatives.sum();
+    }
+
+    public long getPossiblePositiveCount() {
+        return possiblePositives.sum();
+    }
+
+    private boolean record(boolean mightContain) {
+        (mightContain ? possiblePositives : definiteNegatives).increment();
+        return mightContain;
+    }
+}
@@ -1,10 +1,65 @@
 package com.playground.app.repository;
 
+import com.playground.app.model.dto.ReservationResponseDTO;
 import com.playground.app.model.entity.Reservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
     List<Reservation> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    @Query("select new com.playground.app.model.dto.ReservationResponseDTO(" +
+            "r.id, u.id, u.username, s.slotNumber, s.date, r.gender, r.bringOwnFood, r.decorationStyle, r.musicType, s.venue) " +
+            "from Reservation r join r.user u join r.slot s " +
+            "order by s.date, s.slotNumber")
+    List<ReservationResponseDTO> findAllResponses();
+
+    @Query("select new com.playground.app.model.dto.ReservationResponseDTO(" +
+            "r.id, u.id, u.username, s.slotNumber, s.date, r.gender, r.bringOwnFood, r.decorationStyle, r.musicType, s.venue) " +
+            "from Reservation r join r.user u join r.slot s " +
+            "where u.id = :userId " +
+            "order by s.date, s.slotNumber")
+    List<ReservationResponseDTO> findResponsesByUserId(@Param("userId") Long userId);
+
+    @Query("select r.id from Reservation r where r.user.id = :userId order by r.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Streams every reservation in id order; must be consumed inside a transaction.
+     */
+    @Query("select new com.playground.app.model.dto.ReservationResponseDTO(" +
+            "r.id, u.id, u.username, s.slotNumber, s.date, r.gender, r.bringOwnFood, r.decorationStyle, r.musicType, s.venue) " +
+            "from Reservation r join r.user u join r.slot s " +
+            "order by r.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ReservationResponseDTO> streamAllResponses();
+
+    /**
+     * Keyset page of one venue's reservations after the given (date, slotNumber) position, up to endDate.
+     * The row-value comparison lets the database seek straight into uk_slot_date_slot_number_venue.
+     * Slot and user are fetched in the same query.
+     */
+    @Query("select r from Reservation r join fetch r.slot s join fetch r.user " +
+            "where s.venue = :venue " +
+            "and (s.date, s.slotNumber) > (:afterDate, :afterSlotNumber) " +
+            "and s.date <= :endDate " +
+            "order by s.date, s.slotNumber")
+    Slice<Reservation> findPageAfter(@Param("venue") String venue,
+                                     @Param("afterDate") LocalDate afterDate,
+                                     @Param("afterSlotNumber") int afterSlotNumber,
+                                     @Param("endDate") LocalDate endDate,
+                                     Pageable pageable);
+}
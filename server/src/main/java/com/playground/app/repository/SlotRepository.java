@@ -1,13 +1,24 @@
 package com.playground.app.repository;
 
+import com.playground.app.model.dto.SlotDTO;
 import com.playground.app.model.entity.Slot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface SlotRepository extends JpaRepository<Slot, Long> {
     List<Slot> findByDateBetween(LocalDate startDate, LocalDate endDate);
     List<Slot> findByDate(LocalDate date);
-    boolean existsByDateAndSlotNumber(LocalDate date, Integer slotNumber);
+    boolean existsByVenueAndDateAndSlotNumber(String venue, LocalDate date, Integer slotNumber);
+
+    @Query("select new com.playground.app.model.dto.SlotDTO(s.id, s.date, s.slotNumber, false, s.venue) from Slot s")
+    List<SlotDTO> findAllSlotKeys();
+
+    @Query("select new com.playground.app.model.dto.SlotDTO(s.id, s.date, s.slotNumber, false, s.venue) " +
+            "from Slot s where s.date in :dates")
+    List<SlotDTO> findSlotKeysByDateIn(@Param("dates") Collection<LocalDate> dates);
 }
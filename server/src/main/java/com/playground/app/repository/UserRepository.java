@@ -1,8 +1,12 @@
 package com.playground.app.repository;
+import com.playground.app.model.dto.UserResponseDTO;
 import com.playground.app.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +21,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Query("select new com.playground.app.model.dto.UserResponseDTO(" +
+            "u.id, u.username, u.email, u.creationDate, count(r)) " +
+            "from User u left join u.reservations r " +
+            "where u.id = :id " +
+            "group by u.id, u.username, u.email, u.creationDate")
+    Optional<UserResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query("select u.username from User u")
+    List<String> findAllUsernames();
+
+    @Query("select u.email from User u")
+    List<String> findAllEmails();
 }
@@ -2,6 +2,8 @@ package com.playground.app.security;
 
 
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,49 +17,80 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenVerificationCache tokenCache;
+    private final TokenDenyList tokenDenyList;
+    private final boolean stateless;
+    private final Timer authenticationTimer;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService,
+                                   TokenVerificationCache tokenCache, TokenDenyList tokenDenyList,
+                                   boolean stateless, Timer authenticationTimer) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
+        this.tokenCache = tokenCache;
+        this.tokenDenyList = tokenDenyList;
+        this.stateless = stateless;
+        this.authenticationTimer = authenticationTimer;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            if (StringUtils.hasText(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = tokenCache.get(jwt);
 
-                if (StringUtils.hasText(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (userDetails == null) {
+                    long cacheGeneration = tokenCache.getGeneration();
+                    // Parsing verifies both the signature and the expiry
+                    Claims claims = tokenProvider.getAllClaimsFromToken(jwt);
+                    String username = claims.getSubject();
 
-                    if (tokenProvider.validateToken(jwt, userDetails)) {
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    if (StringUtils.hasText(username) && !tokenDenyList.isRevoked(claims.getId())) {
+                        // In stateless mode the principal comes from the claims alone
+                        userDetails = stateless
+                                ? tokenProvider.getUserFromClaims(claims)
+                                : userDetailsService.loadUserByUsername(username);
+                        tokenCache.put(jwt, userDetails, claims.getExpiration(), cacheGeneration);
                     }
                 }
+
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
+        authenticationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
 
     private String getJwtFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+        return extractToken(request.getHeader("Authorization"));
+    }
+
+    /**
+     * The token from a "Bearer" Authorization header, or null when the header is missing or malformed
+     */
+    public static String extractToken(String authorization) {
+        if (StringUtils.hasText(authorization) && authorization.startsWith("Bearer ")) {
+            String token = authorization.substring(7).trim();
+            return StringUtils.hasText(token) ? token : null;
         }
         return null;
     }
@@ -0,0 +1,53 @@
+package com.playground.app.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of revoked tokens that have not expired yet.
+ * An entry is only needed until the token itself expires, so expired ids are dropped lazily.
+ */
+@Component
+public class TokenDenyList {
+
+    private static final int PURGE_THRESHOLD = 1024;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public void revoke(String tokenId, Date expiration) {
+        if (tokenId == null) {
+            return;
+        }
+        if (revoked.size() >= PURGE_THRESHOLD) {
+            purgeExpired();
+        }
+        revoked.put(tokenId, expiration.getTime());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || revoked.isEmpty()) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            revoked.remove(tokenId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
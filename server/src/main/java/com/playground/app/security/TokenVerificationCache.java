@@ -0,0 +1,120 @@
+package com.playground.app.security;
+
+import com.playground.app.event.UserDeletedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of already verified tokens and the user they authenticate.
+ * Entries are keyed by the SHA-256 of the token and live until the token's own expiry,
+ * so a cached token needs neither a signature check nor a user lookup.
+ * Once full, the least recently used token makes room for the new one.
+ */
+@Component
+public class TokenVerificationCache {
+
+    private final Map<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // Bumped on every eviction so a user verified concurrently with it is not cached again
+    private long generation;
+
+    public TokenVerificationCache(@Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public UserDetails get(String token) {
+        String key = hash(token);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.userDetails;
+    }
+
+    /**
+     * Read before verifying a token that missed the cache, and passed back to {@link #put}
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public void put(String token, UserDetails userDetails, Date expiration, long observedGeneration) {
+        String key = hash(token);
+        synchronized (this) {
+            if (generation == observedGeneration) {
+                entries.put(key, new Entry(userDetails, expiration.getTime()));
+            }
+        }
+    }
+
+    public void evict(String token) {
+        String key = hash(token);
+        synchronized (this) {
+            generation++;
+            entries.remove(key);
+        }
+    }
+
+    public synchronized void evictUser(String username) {
+        generation++;
+        entries.values().removeIf(entry -> entry.userDetails.getUsername().equals(username));
+    }
+
+    // Evicted once the deletion commits, so a request still seeing the user cannot cache it afterwards
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        evictUser(event.getUsername());
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(UserDetails userDetails, long expiresAt) {
+    }
+}
@@ -1,18 +1,30 @@
 package com.playground.app.service;
 
+import com.playground.app.availability.Venue;
+import com.playground.app.model.dto.BulkReservationItemDTO;
+import com.playground.app.model.dto.BulkReservationRequestDTO;
+import com.playground.app.model.dto.ReservationCursor;
 import com.playground.app.model.dto.ReservationRequestDTO;
+import com.playground.app.model.dto.ReservationResponseDTO;
 import com.playground.app.model.dto.SlotDTO;
 import com.playground.app.model.entity.Reservation;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReservationService {
     Reservation createReservation(ReservationRequestDTO reservationRequestDTO, String username);
+    List<BulkReservationItemDTO> createReservations(BulkReservationRequestDTO bulkRequestDTO, String username);
     List<Reservation> getAllReservations();
+    Slice<Reservation> getReservationsPage(Venue venue, LocalDate startDate, LocalDate endDate, ReservationCursor cursor, int size);
     Reservation getReservationById(Long id);
     List<Reservation> getReservationsByUserId(Long userId);
+    List<ReservationResponseDTO> getReservationResponses();
+    List<ReservationResponseDTO> getReservationResponsesByUserId(Long userId);
+    void forEachReservationResponse(Consumer<ReservationResponseDTO> consumer);
     void cancelReservation(Long id);
-    List<SlotDTO> getAvailableSlots(LocalDate startDate, LocalDate endDate);
-    List<SlotDTO> getBookedSlots(LocalDate startDate, LocalDate endDate);
+    List<SlotDTO> getAvailableSlots(Venue venue, LocalDate startDate, LocalDate endDate);
+    List<SlotDTO> getBookedSlots(Venue venue, LocalDate startDate, LocalDate endDate);
 }
\ No newline at end of file
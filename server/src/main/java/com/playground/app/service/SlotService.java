@@ -1,6 +1,8 @@
 package com.playground.app.service;
 
+import com.playground.app.availability.Venue;
 import com.playground.app.model.dto.SlotDTO;
+import com.playground.app.model.dto.SlotHoldDTO;
 import com.playground.app.model.entity.Slot;
 
 import java.time.LocalDate;
@@ -29,13 +31,33 @@ public interface SlotService {
     List<Slot> getSlotsBetweenDates(LocalDate startDate, LocalDate endDate);
     
     /**
-     * Get all available virtual slots for the date range
+     * Get all available virtual slots of the venue for the date range
      * (includes slots that don't exist in DB but are available time periods)
      */
-    List<SlotDTO> getAvailableSlotsForDateRange(LocalDate startDate, LocalDate endDate);
+    List<SlotDTO> getAvailableSlotsForDateRange(Venue venue, LocalDate startDate, LocalDate endDate);
     
     /**
-     * Get all booked slots for the date range
+     * Get all booked slots of the venue for the date range
      */
-    List<SlotDTO> getBookedSlotsForDateRange(LocalDate startDate, LocalDate endDate);
+    List<SlotDTO> getBookedSlotsForDateRange(Venue venue, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Get the venue's booked-slot bitmask of every day in the date range
+     */
+    int[] getBookedMasksForDateRange(Venue venue, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Get the venue's available-slot bitmask of every day in the date range
+     */
+    int[] getAvailableMasksForDateRange(Venue venue, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Hold a free slot for the user until they confirm the reservation or the hold expires
+     */
+    SlotHoldDTO holdSlot(Venue venue, LocalDate date, int slotNumber, String username);
+
+    /**
+     * Give up the user's hold on a slot
+     */
+    void releaseHold(Venue venue, LocalDate date, int slotNumber, String username);
 }
\ No newline at end of file
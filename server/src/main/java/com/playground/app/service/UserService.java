@@ -1,5 +1,6 @@
 package com.playground.app.service;
 import com.playground.app.model.dto.UserRegistrationDTO;
+import com.playground.app.model.dto.UserResponseDTO;
 import com.playground.app.model.entity.User;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,8 @@ public interface UserService {
 
     User getUserById(Long id);
 
+    UserResponseDTO getUserResponse(Long id);
+
     List<User> getAllUsers();
 
     void deleteUser(Long id);
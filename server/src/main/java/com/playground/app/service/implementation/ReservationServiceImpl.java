@@ -1,40 +1,99 @@
 package com.playground.app.service.implementation;
 
+import com.playground.app.availability.BookingWindow;
+import com.playground.app.availability.MonthAvailabilityCache;
+import com.playground.app.availability.SlotAvailabilityIndex;
+import com.playground.app.availability.SlotSchedule;
+import com.playground.app.availability.SlotClaimGuard;
+import com.playground.app.availability.SlotHoldRegistry;
+import com.playground.app.availability.Venue;
+import com.playground.app.availability.Venues;
+import com.playground.app.event.SlotChangedEvent;
+import com.playground.app.exception.InvalidReservationRequestException;
 import com.playground.app.exception.ResourceNotFoundException;
+import com.playground.app.exception.SlotAlreadyBookedException;
+import com.playground.app.model.dto.BulkReservationItemDTO;
+import com.playground.app.model.dto.BulkReservationRequestDTO;
+import com.playground.app.model.dto.ReservationCursor;
 import com.playground.app.model.dto.ReservationRequestDTO;
+import com.playground.app.model.dto.ReservationResponseDTO;
 import com.playground.app.model.dto.SlotDTO;
 import com.playground.app.model.entity.Reservation;
 import com.playground.app.model.entity.Slot;
 import com.playground.app.model.entity.User;
+import com.playground.app.outbox.OutboxPublisher;
+import com.playground.app.outbox.ReservationEvent;
 import com.playground.app.repository.ReservationRepository;
 import com.playground.app.repository.SlotRepository;
 import com.playground.app.repository.UserRepository;
 import com.playground.app.service.ReservationService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ReservationServiceImpl implements ReservationService {
 
+    // Bounds used when a page request leaves the date range open
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final int MAX_BULK_RESERVATIONS = 200;
+
     private final UserRepository userRepository;
     private final ReservationRepository reservationRepository;
     private final SlotRepository slotRepository;
+    private final SlotAvailabilityIndex availabilityIndex;
+    private final MonthAvailabilityCache availabilityCache;
+    private final Venues venues;
+    private final BookingWindow bookingWindow;
+    private final SlotClaimGuard claimGuard;
+    private final SlotHoldRegistry holds;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     public ReservationServiceImpl(UserRepository userRepository, 
                                   ReservationRepository reservationRepository,
-                                  SlotRepository slotRepository) {
+                                  SlotRepository slotRepository,
+                                  SlotAvailabilityIndex availabilityIndex,
+                                  MonthAvailabilityCache availabilityCache,
+                                  Venues venues,
+                                  BookingWindow bookingWindow,
+                                  SlotClaimGuard claimGuard,
+                                  SlotHoldRegistry holds,
+                                  ApplicationEventPublisher eventPublisher,
+                                  OutboxPublisher outboxPublisher,
+                                  TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
         this.reservationRepository = reservationRepository;
         this.slotRepository = slotRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.availabilityCache = availabilityCache;
+        this.venues = venues;
+        this.bookingWindow = bookingWindow;
+        this.claimGuard = claimGuard;
+        this.holds = holds;
+        this.eventPublisher = eventPublisher;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
-    @Transactional
     public Reservation createReservation(ReservationRequestDTO requestDTO, String username) {
         LocalDate requestedDate = requestDTO.getDate(); // 📅 Data primită de la client
 
@@ -42,20 +101,60 @@ public class ReservationServiceImpl implements ReservationService {
         if (requestedDate.isBefore(LocalDate.now())) {
             throw new IllegalArgumentException("Reservation date cannot be in the past");
         }
+        bookingWindow.checkBookable(requestedDate);
+
+        Venue venue = venues.resolve(requestDTO.getVenue());
+        SlotSchedule schedule = venue.getSchedule();
+        if (!schedule.isValidSlotNumber(requestDTO.getSlotNumber())) {
+            throw new IllegalArgumentException("Invalid slot number: " + requestDTO.getSlotNumber());
+        }
+
+        if (!schedule.isOpen(requestedDate)) {
+            throw new IllegalArgumentException("The playground is closed on " + requestedDate);
+        }
+
+        int slotNumber = requestDTO.getSlotNumber();
+
+        // A slot held by someone else stays theirs until they confirm or the hold expires
+        if (holds.isHeldByOther(venue, requestedDate, slotNumber, username)) {
+            throw new SlotAlreadyBookedException("The requested time slot is held by another user");
+        }
+
+        // Rejects slots that are booked or being booked by a concurrent request before any JPA work
+        if (availabilityIndex.isBooked(venue, requestedDate, slotNumber)
+                || !claimGuard.tryClaim(venue, requestedDate, slotNumber)) {
+            throw new SlotAlreadyBookedException("The requested time slot is already booked");
+        }
+
+        try {
+            Reservation reservation = transactionTemplate.execute(status -> saveReservation(requestDTO, venue, username));
+            // Confirming turns the user's hold into the reservation
+            holds.release(venue, requestedDate, slotNumber, username);
+            return reservation;
+        } catch (DataIntegrityViolationException e) {
+            throw new SlotAlreadyBookedException("The requested time slot is already booked");
+        } finally {
+            claimGuard.release(venue, requestedDate, slotNumber);
+        }
+    }
+
+    private Reservation saveReservation(ReservationRequestDTO requestDTO, Venue venue, String username) {
+        LocalDate requestedDate = requestDTO.getDate();
 
         // Obții userul din username
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        // Verifici dacă slotul e deja ocupat
-        if (isSlotBooked(requestedDate, requestDTO.getSlotNumber())) {
-            throw new IllegalStateException("The requested time slot is already booked");
+        // Verifici dacă slotul e deja ocupat (de exemplu de o altă instanță)
+        if (isSlotBooked(venue, requestedDate, requestDTO.getSlotNumber())) {
+            throw new SlotAlreadyBookedException("The requested time slot is already booked");
         }
 
         // Creezi slotul
         Slot slot = new Slot();
         slot.setDate(requestedDate);
         slot.setSlotNumber(requestDTO.getSlotNumber());
+        slot.setVenue(venue.getId());
 
         // Creezi rezervarea
         Reservation reservation = new Reservation();
@@ -67,9 +166,197 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setSlot(slot);
         slot.setReservation(reservation);
 
-        return reservationRepository.save(reservation);
+        Reservation savedReservation = reservationRepository.saveAndFlush(reservation);
+        eventPublisher.publishEvent(new SlotChangedEvent(
+                savedReservation.getSlot().getId(), venue.getId(), requestedDate, requestDTO.getSlotNumber(), true));
+        outboxPublisher.publishReservation(ReservationEvent.CREATED, savedReservation);
+
+        return savedReservation;
+    }
+
+    @Override
+    public List<BulkReservationItemDTO> createReservations(BulkReservationRequestDTO bulkRequestDTO, String username) {
+        // Keeps request order and drops duplicates
+        Venue defaultVenue = venues.resolve(bulkRequestDTO.getVenue());
+        Map<String, BulkReservationItemDTO> items = new LinkedHashMap<>();
+        for (SlotDTO requested : expandRequestedSlots(bulkRequestDTO)) {
+            String venue = requested.getVenue() != null ? requested.getVenue() : defaultVenue.getId();
+            items.putIfAbsent(slotKey(venue, requested.getDate(), requested.getSlotNumber()), validate(requested, venue));
+        }
+
+        // Claims every free slot up front so concurrent single bookings are rejected without touching the DB
+        List<BulkReservationItemDTO> claimed = new ArrayList<>();
+        for (BulkReservationItemDTO item : items.values()) {
+            if (item.getStatus() != BulkReservationItemDTO.Status.BOOKED) {
+                continue;
+            }
+            Venue venue = venues.resolve(item.getVenue());
+            if (availabilityIndex.isBooked(venue, item.getDate(), item.getSlotNumber())
+                    || holds.isHeldByOther(venue, item.getDate(), item.getSlotNumber(), username)
+                    || !claimGuard.tryClaim(venue, item.getDate(), item.getSlotNumber())) {
+                markConflict(item);
+            } else {
+                claimed.add(item);
+            }
+        }
+
+        try {
+            if (!claimed.isEmpty()) {
+                saveClaimed(claimed, bulkRequestDTO, username);
+            }
+        } finally {
+            claimed.forEach(item -> claimGuard.release(venues.resolve(item.getVenue()), item.getDate(), item.getSlotNumber()));
+        }
+
+        // Confirming turns the user's holds into reservations
+        claimed.stream()
+                .filter(item -> item.getStatus() == BulkReservationItemDTO.Status.BOOKED)
+                .forEach(item -> holds.release(venues.resolve(item.getVenue()), item.getDate(), item.getSlotNumber(), username));
+
+        return new ArrayList<>(items.values());
+    }
+
+    private void saveClaimed(List<BulkReservationItemDTO> claimed, BulkReservationRequestDTO bulkRequestDTO,
+                             String username) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveReservations(claimed, bulkRequestDTO, username));
+        } catch (DataIntegrityViolationException e) {
+            // A slot was booked concurrently, e.g. by another instance; retry one by one so only that slot conflicts
+            for (BulkReservationItemDTO item : claimed) {
+                if (item.getStatus() != BulkReservationItemDTO.Status.BOOKED) {
+                    continue;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(
+                            status -> saveReservations(List.of(item), bulkRequestDTO, username));
+                } catch (DataIntegrityViolationException conflict) {
+                    markConflict(item);
+                }
+            }
+        }
+    }
+
+    private void saveReservations(List<BulkReservationItemDTO> claimed, BulkReservationRequestDTO bulkRequestDTO,
+                                  String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        // One set-based query for slots already booked, e.g. by another instance
+        Set<LocalDate> dates = new HashSet<>();
+        claimed.forEach(item -> dates.add(item.getDate()));
+        Set<String> existing = new HashSet<>();
+        slotRepository.findSlotKeysByDateIn(dates)
+                .forEach(slot -> existing.add(slotKey(slot.getVenue(), slot.getDate(), slot.getSlotNumber())));
+
+        List<BulkReservationItemDTO> toBook = new ArrayList<>();
+        List<Reservation> reservations = new ArrayList<>();
+        for (BulkReservationItemDTO item : claimed) {
+            if (existing.contains(slotKey(item.getVenue(), item.getDate(), item.getSlotNumber()))) {
+                markConflict(item);
+                continue;
+            }
+
+            Slot slot = new Slot();
+            slot.setDate(item.getDate());
+            slot.setSlotNumber(item.getSlotNumber());
+            slot.setVenue(item.getVenue());
+
+            Reservation reservation = new Reservation();
+            reservation.setUser(user);
+            reservation.setGender(bulkRequestDTO.getGender());
+            reservation.setBringOwnFood(bulkRequestDTO.isBringOwnFood());
+            reservation.setDecorationStyle(bulkRequestDTO.getDecorations());
+            reservation.setMusicType(bulkRequestDTO.getMusic());
+            reservation.setSlot(slot);
+            slot.setReservation(reservation);
+
+            toBook.add(item);
+            reservations.add(reservation);
+        }
+
+        List<Reservation> saved = reservationRepository.saveAll(reservations);
+        reservationRepository.flush();
+
+        for (int i = 0; i < saved.size(); i++) {
+            Reservation reservation = saved.get(i);
+            toBook.get(i).setReservationId(reservation.getId());
+            eventPublisher.publishEvent(new SlotChangedEvent(reservation.getSlot().getId(), reservation.getSlot().getVenue(),
+                    reservation.getSlot().getDate(), reservation.getSlot().getSlotNumber(), true));
+            outboxPublisher.publishReservation(ReservationEvent.CREATED, reservation);
+        }
+    }
+
+    private List<SlotDTO> expandRequestedSlots(BulkReservationRequestDTO bulkRequestDTO) {
+        List<SlotDTO> requested = new ArrayList<>();
+        if (bulkRequestDTO.getSlots() != null) {
+            // Checked before anything is validated, so an oversized request costs no per-slot work
+            if (bulkRequestDTO.getSlots().size() > MAX_BULK_RESERVATIONS) {
+                throw tooManySlots();
+            }
+            for (SlotDTO slot : bulkRequestDTO.getSlots()) {
+                if (slot == null) {
+                    throw new InvalidReservationRequestException("Slots must not contain null entries");
+                }
+                requested.add(slot);
+            }
+        }
+
+        BulkReservationRequestDTO.Recurrence recurrence = bulkRequestDTO.getRecurrence();
+        if (recurrence != null) {
+            if (recurrence.getStartDate() == null || recurrence.getEndDate() == null || recurrence.getSlotNumber() == null
+                    || recurrence.getDaysOfWeek() == null || recurrence.getDaysOfWeek().isEmpty()) {
+                throw new InvalidReservationRequestException(
+                        "Recurrence needs a start date, an end date, a slot number and days of week");
+            }
+            for (LocalDate date = recurrence.getStartDate(); !date.isAfter(recurrence.getEndDate()); date = date.plusDays(1)) {
+                if (recurrence.getDaysOfWeek().contains(date.getDayOfWeek())) {
+                    requested.add(new SlotDTO(null, date, recurrence.getSlotNumber(), true));
+                }
+                if (requested.size() > MAX_BULK_RESERVATIONS) {
+                    throw tooManySlots();
+                }
+            }
+        }
+
+        return requested;
     }
 
+    private static InvalidReservationRequestException tooManySlots() {
+        return new InvalidReservationRequestException("At most " + MAX_BULK_RESERVATIONS + " slots can be booked at once");
+    }
+
+    private BulkReservationItemDTO validate(SlotDTO requested, String venueId) {
+        BulkReservationItemDTO item = new BulkReservationItemDTO(requested.getDate(), requested.getSlotNumber(),
+                BulkReservationItemDTO.Status.BOOKED, null, null, venueId);
+
+        Venue venue = venues.find(venueId);
+        if (venue == null) {
+            item.setStatus(BulkReservationItemDTO.Status.INVALID);
+            item.setMessage("Unknown venue: " + venueId);
+        } else if (requested.getDate() == null || requested.getDate().isBefore(LocalDate.now())) {
+            item.setStatus(BulkReservationItemDTO.Status.INVALID);
+            item.setMessage("Reservation date cannot be in the past");
+        } else if (requested.getDate().isAfter(bookingWindow.getLastBookableDate())) {
+            item.setStatus(BulkReservationItemDTO.Status.INVALID);
+            item.setMessage("Reservations can be made at most until " + bookingWindow.getLastBookableDate());
+        } else if (requested.getSlotNumber() == null || !venue.getSchedule().isValidSlotNumber(requested.getSlotNumber())) {
+            item.setStatus(BulkReservationItemDTO.Status.INVALID);
+            item.setMessage("Invalid slot number: " + requested.getSlotNumber());
+        } else if (!venue.getSchedule().isOpen(requested.getDate())) {
+            item.setStatus(BulkReservationItemDTO.Status.INVALID);
+            item.setMessage("The playground is closed on " + requested.getDate());
+        }
+        return item;
+    }
+
+    private static String slotKey(String venue, LocalDate date, Integer slotNumber) {
+        return venue + ":" + date + ":" + slotNumber;
+    }
+
+    private static void markConflict(BulkReservationItemDTO item) {
+        item.setStatus(BulkReservationItemDTO.Status.CONFLICT);
+        item.setMessage("The requested time slot is already booked");
+    }
 
     @Override
     public List<Reservation> getAllReservations() {
@@ -77,6 +364,16 @@ public class ReservationServiceImpl implements ReservationService {
         return reservationRepository.findAll();
     }
 
+    @Override
+    public Slice<Reservation> getReservationsPage(Venue venue, LocalDate startDate, LocalDate endDate,
+                                                  ReservationCursor cursor, int size) {
+        LocalDate afterDate = cursor != null ? cursor.getDate() : (startDate != null ? startDate : EARLIEST_DATE);
+        int afterSlotNumber = cursor != null ? cursor.getSlotNumber() : -1;
+
+        return reservationRepository.findPageAfter(venue.getId(), afterDate, afterSlotNumber,
+                endDate != null ? endDate : LATEST_DATE, PageRequest.of(0, size));
+    }
+
     @Override
     public Reservation getReservationById(Long id) {
 
@@ -95,79 +392,67 @@ public class ReservationServiceImpl implements ReservationService {
     }
 
     @Override
-    @Transactional
-    public void cancelReservation(Long id) {
-
-        Reservation reservation = reservationRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+    public List<ReservationResponseDTO> getReservationResponses() {
 
-        reservationRepository.delete(reservation);
+        return reservationRepository.findAllResponses();
     }
 
     @Override
-    public List<SlotDTO> getAvailableSlots(LocalDate startDate, LocalDate endDate) {
-        List<SlotDTO> allPossibleSlots = generateAllPossibleSlots(startDate, endDate);
-        List<Slot> bookedSlots = slotRepository.findByDateBetween(startDate, endDate);
+    public List<ReservationResponseDTO> getReservationResponsesByUserId(Long userId) {
 
-        for (Slot bookedSlot : bookedSlots) {
-            allPossibleSlots.removeIf(slot -> 
-                slot.getDate().equals(bookedSlot.getDate()) && 
-                slot.getSlotNumber().equals(bookedSlot.getSlotNumber()));
+        if (!userRepository.existsById(userId)) {
+
+            throw new ResourceNotFoundException("User not found with id: " + userId);
         }
+        return reservationRepository.findResponsesByUserId(userId);
+    }
 
-        return allPossibleSlots;
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachReservationResponse(Consumer<ReservationResponseDTO> consumer) {
+
+        try (Stream<ReservationResponseDTO> reservations = reservationRepository.streamAllResponses()) {
+            reservations.forEach(consumer);
+        }
     }
 
     @Override
-    public List<SlotDTO> getBookedSlots(LocalDate startDate, LocalDate endDate) {
+    @Transactional
+    public void cancelReservation(Long id) {
 
-        List<Slot> bookedSlots = slotRepository.findByDateBetween(startDate, endDate);
+        Reservation reservation = reservationRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
 
-        return bookedSlots.stream()
-            .map(slot -> new SlotDTO(
-                slot.getId(),
-                slot.getDate(),
-                slot.getSlotNumber(),
-                false // Not available
-            ))
-            .collect(Collectors.toList());
+        Slot slot = reservation.getSlot();
+        reservationRepository.delete(reservation);
+        eventPublisher.publishEvent(new SlotChangedEvent(slot.getId(), slot.getVenue(), slot.getDate(), slot.getSlotNumber(), false));
+        outboxPublisher.publishReservation(ReservationEvent.CANCELLED, reservation);
     }
 
-    /**
-     * Converts hour to slot number:
-     * 0: 8-12 (morning)
-     * 1: 13-17 (afternoon)
-     * 2: 18-22 (evening)
-     */
-    private Integer timeToSlotNumber(int hour) {
-        if (hour >= 8 && hour < 12) return 0;  // Morning slot
-        if (hour >= 13 && hour < 17) return 1; // Afternoon slot
-        if (hour >= 18 && hour < 22) return 2; // Evening slot
-        return -1; // Invalid time
+    @Override
+    public List<SlotDTO> getAvailableSlots(Venue venue, LocalDate startDate, LocalDate endDate) {
+        BookingWindow.Range tracked = bookingWindow.clamp(startDate, endDate);
+        if (tracked == null) {
+            return new ArrayList<>();
+        }
+        List<SlotDTO> slots = availabilityCache.getAvailableSlots(venue, tracked.start(), tracked.end());
+        holds.removeHeld(venue, slots);
+        return slots;
     }
 
-    /**
-     * Checks if a slot is already booked for the given date and slot number
-     */
-    private boolean isSlotBooked(LocalDate date, Integer slotNumber) {
-        return slotRepository.existsByDateAndSlotNumber(date, slotNumber);
-    }
-
-    private List<SlotDTO> generateAllPossibleSlots(LocalDate startDate, LocalDate endDate) {
-        List<SlotDTO> slots = new ArrayList<>();
-        Integer[] slotNumbers = {0, 1, 2}; // 0: 8-12, 1: 13-17, 2: 18-22
-
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            for (Integer slotNumber : slotNumbers) {
-                slots.add(new SlotDTO(
-                    null, // No ID as these are virtual slots
-                    date,
-                    slotNumber,
-                    true // Available
-                ));
-            }
+    @Override
+    public List<SlotDTO> getBookedSlots(Venue venue, LocalDate startDate, LocalDate endDate) {
+        BookingWindow.Range tracked = bookingWindow.clamp(startDate, endDate);
+        if (tracked == null) {
+            return new ArrayList<>();
         }
+        return availabilityCache.getBookedSlots(venue, tracked.start(), tracked.end());
+    }
 
-        return slots;
+    /**
+     * Checks if a slot is already booked at the venue for the given date and slot number
+     */
+    private boolean isSlotBooked(Venue venue, LocalDate date, Integer slotNumber) {
+        return slotRepository.existsByVenueAndDateAndSlotNumber(venue.getId(), date, slotNumber);
     }
 }
@@ -1,7 +1,16 @@
 package com.playground.app.service.implementation;
 
+import com.playground.app.availability.BookingWindow;
+import com.playground.app.availability.MonthAvailabilityCache;
+import com.playground.app.availability.SlotAvailabilityIndex;
+import com.playground.app.availability.SlotHold;
+import com.playground.app.availability.SlotHoldRegistry;
+import com.playground.app.availability.SlotSchedule;
+import com.playground.app.availability.Venue;
 import com.playground.app.exception.ResourceNotFoundException;
+import com.playground.app.exception.SlotAlreadyBookedException;
 import com.playground.app.model.dto.SlotDTO;
+import com.playground.app.model.dto.SlotHoldDTO;
 import com.playground.app.model.entity.Slot;
 import com.playground.app.repository.SlotRepository;
 import com.playground.app.service.SlotService;
@@ -10,15 +19,24 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 public class SlotServiceImpl implements SlotService {
 
     private final SlotRepository slotRepository;
+    private final MonthAvailabilityCache availabilityCache;
+    private final SlotAvailabilityIndex availabilityIndex;
+    private final SlotHoldRegistry holds;
+    private final BookingWindow bookingWindow;
 
-    public SlotServiceImpl(SlotRepository slotRepository) {
+    public SlotServiceImpl(SlotRepository slotRepository, MonthAvailabilityCache availabilityCache,
+                           SlotAvailabilityIndex availabilityIndex, SlotHoldRegistry holds, BookingWindow bookingWindow) {
         this.slotRepository = slotRepository;
+        this.availabilityCache = availabilityCache;
+        this.availabilityIndex = availabilityIndex;
+        this.holds = holds;
+        this.bookingWindow = bookingWindow;
     }
 
     @Override
@@ -43,53 +61,73 @@ public class SlotServiceImpl implements SlotService {
     }
 
     @Override
-    public List<SlotDTO> getAvailableSlotsForDateRange(LocalDate startDate, LocalDate endDate) {
-        List<SlotDTO> allPossibleSlots = generateAllPossibleSlots(startDate, endDate);
-        List<Slot> bookedSlots = slotRepository.findByDateBetween(startDate, endDate);
-
-        // Remove booked slots from all possible slots
-        for (Slot bookedSlot : bookedSlots) {
-            allPossibleSlots.removeIf(slot -> 
-                slot.getDate().equals(bookedSlot.getDate()) && 
-                slot.getSlotNumber().equals(bookedSlot.getSlotNumber()));
+    public List<SlotDTO> getAvailableSlotsForDateRange(Venue venue, LocalDate startDate, LocalDate endDate) {
+        BookingWindow.Range tracked = bookingWindow.clamp(startDate, endDate);
+        if (tracked == null) {
+            return new ArrayList<>();
         }
+        List<SlotDTO> slots = availabilityCache.getAvailableSlots(venue, tracked.start(), tracked.end());
+        holds.removeHeld(venue, slots);
+        return slots;
+    }
 
-        return allPossibleSlots;
+    @Override
+    public List<SlotDTO> getBookedSlotsForDateRange(Venue venue, LocalDate startDate, LocalDate endDate) {
+        BookingWindow.Range tracked = bookingWindow.clamp(startDate, endDate);
+        if (tracked == null) {
+            return new ArrayList<>();
+        }
+        return availabilityCache.getBookedSlots(venue, tracked.start(), tracked.end());
     }
 
     @Override
-    public List<SlotDTO> getBookedSlotsForDateRange(LocalDate startDate, LocalDate endDate) {
-        List<Slot> bookedSlots = slotRepository.findByDateBetween(startDate, endDate);
-
-        return bookedSlots.stream()
-                .map(slot -> new SlotDTO(
-                        slot.getId(),
-                        slot.getDate(),
-                        slot.getSlotNumber(),
-                        false // Not available
-                ))
-                .collect(Collectors.toList());
+    public int[] getBookedMasksForDateRange(Venue venue, LocalDate startDate, LocalDate endDate) {
+        return masksForDateRange(startDate, endDate,
+                tracked -> availabilityCache.getBookedMasks(venue, tracked.start(), tracked.end()));
     }
 
-    /**
-     * Generates all possible slot DTOs for the given date range
-     * Slot numbers: 0 (8-12), 1 (13-17), 2 (18-22)
-     */
-    private List<SlotDTO> generateAllPossibleSlots(LocalDate startDate, LocalDate endDate) {
-        List<SlotDTO> slots = new ArrayList<>();
-        Integer[] slotNumbers = {0, 1, 2}; // 0: 8-12, 1: 13-17, 2: 18-22
-
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            for (Integer slotNumber : slotNumbers) {
-                slots.add(new SlotDTO(
-                        null, // No ID as these are virtual slots
-                        date,
-                        slotNumber,
-                        true // Available
-                ));
-            }
+    @Override
+    public int[] getAvailableMasksForDateRange(Venue venue, LocalDate startDate, LocalDate endDate) {
+        int[] masks = masksForDateRange(startDate, endDate,
+                tracked -> availabilityCache.getAvailableMasks(venue, tracked.start(), tracked.end()));
+        holds.clearHeld(venue, masks, startDate);
+        return masks;
+    }
+
+    // One mask per requested day; days outside the booking window stay empty
+    private int[] masksForDateRange(LocalDate startDate, LocalDate endDate, Function<BookingWindow.Range, int[]> read) {
+        BookingWindow.Range tracked = bookingWindow.clamp(startDate, endDate);
+        int[] masks = new int[(int) (endDate.toEpochDay() - startDate.toEpochDay() + 1)];
+        if (tracked != null) {
+            int[] trackedMasks = read.apply(tracked);
+            System.arraycopy(trackedMasks, 0, masks, (int) (tracked.start().toEpochDay() - startDate.toEpochDay()), trackedMasks.length);
         }
+        return masks;
+    }
 
-        return slots;
+    @Override
+    public SlotHoldDTO holdSlot(Venue venue, LocalDate date, int slotNumber, String username) {
+        if (date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Reservation date cannot be in the past");
+        }
+        bookingWindow.checkBookable(date);
+        SlotSchedule schedule = venue.getSchedule();
+        if (!schedule.isValidSlotNumber(slotNumber)) {
+            throw new IllegalArgumentException("Invalid slot number: " + slotNumber);
+        }
+        if (!schedule.isOpen(date)) {
+            throw new IllegalArgumentException("The playground is closed on " + date);
+        }
+        if (availabilityIndex.isBooked(venue, date, slotNumber)) {
+            throw new SlotAlreadyBookedException("The requested time slot is already booked");
+        }
+
+        SlotHold hold = holds.hold(venue, date, slotNumber, username);
+        return new SlotHoldDTO(hold.getDate(), hold.getSlotNumber(), hold.getExpiresAt(), hold.getVenue());
+    }
+
+    @Override
+    public void releaseHold(Venue venue, LocalDate date, int slotNumber, String username) {
+        holds.release(venue, date, slotNumber, username);
     }
 }
@@ -1,14 +1,30 @@
 package com.playground.app.service.implementation;
 
+import com.playground.app.event.SlotChangedEvent;
+import com.playground.app.event.UserDeletedEvent;
+import com.playground.app.exception.ResourceNotFoundException;
+import com.playground.app.exception.UserAlreadyExistsException;
+import com.playground.app.model.entity.Reservation;
+import com.playground.app.model.entity.Slot;
 import com.playground.app.model.entity.User;
+import com.playground.app.outbox.OutboxPublisher;
+import com.playground.app.outbox.ReservationEvent;
+import com.playground.app.registration.RegisteredIdentifiers;
+import com.playground.app.repository.ReservationRepository;
 import com.playground.app.repository.UserRepository;
 import com.playground.app.service.UserService;
 import com.playground.app.model.dto.UserRegistrationDTO;
+import com.playground.app.model.dto.UserResponseDTO;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
@@ -16,11 +32,21 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RegisteredIdentifiers registeredIdentifiers;
+    private final ReservationRepository reservationRepository;
+    private final OutboxPublisher outboxPublisher;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           ApplicationEventPublisher eventPublisher, RegisteredIdentifiers registeredIdentifiers,
+                           ReservationRepository reservationRepository, OutboxPublisher outboxPublisher) {
         this.userRepository = userRepository;
+        this.reservationRepository = reservationRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.registeredIdentifiers = registeredIdentifiers;
+        this.outboxPublisher = outboxPublisher;
     }
 
     public User registerUser(UserRegistrationDTO registrationDTO) {
@@ -29,13 +55,36 @@ public class UserServiceImpl implements UserService {
         user.setEmail(registrationDTO.getEmail());
         String hashedPassword = passwordEncoder.encode(registrationDTO.getPassword());
         user.setPassword(hashedPassword);
-        return userRepository.save(user);
+        return insert(user);
     }
 
     @Override
     public User createUser(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        return insert(user);
+    }
+
+    // The unique constraints decide, instead of two exists queries ahead of the insert
+    private User insert(User user) {
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailViolation(e, user.getEmail())) {
+                throw new UserAlreadyExistsException("Email is already in use!");
+            }
+            throw new UserAlreadyExistsException("Username is already taken!");
+        }
+
+        registeredIdentifiers.add(savedUser.getUsername(), savedUser.getEmail());
+        return savedUser;
+    }
+
+    private boolean isEmailViolation(DataIntegrityViolationException e, String email) {
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            return violation.getConstraintName().toLowerCase(Locale.ROOT).contains("email");
+        }
+        return userRepository.existsByEmail(email);
     }
 
     @Override
@@ -44,6 +93,15 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public UserResponseDTO getUserResponse(Long id) {
+        UserResponseDTO response = userRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        response.setReservationIds(reservationRepository.findIdsByUserId(id));
+        return response;
+    }
+
     @Override
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -55,8 +113,18 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            eventPublisher.publishEvent(new UserDeletedEvent(user.getUsername()));
+            // The user's reservations and slots go with it, so their slots become free
+            for (Reservation reservation : user.getReservations()) {
+                Slot slot = reservation.getSlot();
+                eventPublisher.publishEvent(new SlotChangedEvent(slot.getId(), slot.getVenue(), slot.getDate(), slot.getSlotNumber(), false));
+                outboxPublisher.publishReservation(ReservationEvent.CANCELLED, reservation);
+            }
+            userRepository.delete(user);
+        });
     }
 
     @Override
@@ -71,12 +139,12 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public boolean existsByUsername(String username) {
-        return userRepository.existsByUsername(username);
+        return registeredIdentifiers.mightContainUsername(username) && userRepository.existsByUsername(username);
     }
 
     @Override
     public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+        return registeredIdentifiers.mightContainEmail(email) && userRepository.existsByEmail(email);
     }
 
     @Override
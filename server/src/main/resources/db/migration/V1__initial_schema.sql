@@ -0,0 +1,38 @@
+create sequence user_seq start with 1 increment by 50;
+create sequence slot_seq start with 1 increment by 50;
+create sequence reservation_seq start with 1 increment by 50;
+
+create table "user" (
+    id            bigint       not null,
+    username      varchar(255) not null,
+    password      varchar(255) not null,
+    email         varchar(255) not null,
+    creation_date timestamp(6),
+    constraint pk_user primary key (id),
+    constraint uk_user_username unique (username),
+    constraint uk_user_email unique (email)
+);
+
+create table "slot" (
+    slot_id     bigint not null,
+    date        date,
+    slot_number integer,
+    constraint pk_slot primary key (slot_id),
+    constraint uk_slot_date_slot_number unique (date, slot_number)
+);
+
+create table "reservation" (
+    reservation_id   bigint  not null,
+    user_id          bigint,
+    slot_id          bigint,
+    gender           varchar(255),
+    music_type       varchar(255),
+    decoration_style varchar(255),
+    bring_own_food   boolean not null,
+    creation_date    timestamp(6),
+    constraint pk_reservation primary key (reservation_id),
+    constraint uk_reservation_slot_id unique (slot_id),
+    constraint fk_reservation_user foreign key (user_id) references "user" (id),
+    constraint fk_reservation_slot foreign key (slot_id) references "slot" (slot_id),
+    constraint ck_reservation_gender check (gender in ('BOY', 'GIRL', 'MIXED'))
+);
@@ -0,0 +1,4 @@
+-- Listing a user's reservations filters on user_id, which had no index.
+-- Date-range scans are served by uk_slot_date_slot_number (date is its leading column)
+-- and the join back to reservation by uk_reservation_slot_id.
+create index idx_reservation_user_id on "reservation" (user_id);
@@ -0,0 +1,18 @@
+-- Side effects of reservation changes, written in the same transaction as the change
+-- and delivered after commit by OutboxDispatcher. Rows are deleted once delivered.
+create sequence outbox_event_seq start with 1 increment by 50;
+
+create table "outbox_event" (
+    id           bigint        not null,
+    event_type   varchar(100)  not null,
+    aggregate_id bigint,
+    payload      varchar(4000) not null,
+    created_at   timestamp(6)  not null,
+    available_at timestamp(6)  not null,
+    attempts     integer       not null,
+    last_error   varchar(1000),
+    constraint pk_outbox_event primary key (id)
+);
+
+-- The dispatcher polls for due events in id order
+create index idx_outbox_event_available_at on "outbox_event" (available_at, id);
@@ -0,0 +1,7 @@
+-- Slots belong to a venue; rows from before venues existed go to the default venue.
+-- date stays the leading column of the unique key so date-range scans keep using it.
+-- Databases adopted at the baseline carry a Hibernate-generated name for the old key;
+-- V4_1 drops it whatever it is called.
+alter table "slot" add column venue varchar(64) default 'main' not null;
+alter table "slot" drop constraint if exists uk_slot_date_slot_number;
+alter table "slot" add constraint uk_slot_date_slot_number_venue unique (date, slot_number, venue);
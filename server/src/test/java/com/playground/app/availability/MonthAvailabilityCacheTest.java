@@ -0,0 +1,99 @@
+package com.playground.app.availability;
+
+import com.playground.app.event.SlotChangedEvent;
+import com.playground.app.model.dto.SlotDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonthAvailabilityCacheTest {
+
+    private static final BookingWindow WINDOW = new BookingWindow(365, 365,
+            Clock.fixed(LocalDate.of(2026, 10, 1).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+    private static final Venues VENUES = new Venues("main,garden", new MockEnvironment()
+            .withProperty("venues.garden.slots", "")
+            .withProperty("venues.garden.opening-hours", "10:00-14:00"));
+    private static final Venue MAIN = VENUES.getDefault();
+    private static final Venue GARDEN = VENUES.resolve("garden");
+
+    private final SlotAvailabilityIndex index = new SlotAvailabilityIndex(null, VENUES, WINDOW);
+    private final MonthAvailabilityCache cache = new MonthAvailabilityCache(index, 2);
+
+    @Test
+    void rangesAcrossMonthsMatchTheIndex() {
+        index.markBooked(MAIN, LocalDate.of(2026, 10, 31), 0, 7L);
+        index.markBooked(MAIN, LocalDate.of(2026, 11, 1), 2, 8L);
+
+        LocalDate start = LocalDate.of(2026, 10, 20);
+        LocalDate end = LocalDate.of(2026, 11, 10);
+
+        assertEquals(index.getAvailableSlots(MAIN, start, end), cache.getAvailableSlots(MAIN, start, end));
+        assertEquals(index.getBookedSlots(MAIN, start, end), cache.getBookedSlots(MAIN, start, end));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    void committedChangeInvalidatesOnlyItsVenueAndMonth() {
+        YearMonth october = YearMonth.of(2026, 10);
+        YearMonth november = YearMonth.of(2026, 11);
+        MonthAvailability cachedOctober = cache.get(MAIN, october);
+        MonthAvailability cachedNovember = cache.get(MAIN, november);
+        MonthAvailability gardenOctober = cache.get(GARDEN, october);
+
+        LocalDate date = LocalDate.of(2026, 10, 17);
+        index.markBooked(MAIN, date, 1, 42L);
+        cache.onSlotChanged(new SlotChangedEvent(42L, MAIN.getId(), date, 1, true));
+
+        assertSame(cachedNovember, cache.get(MAIN, november));
+        assertSame(gardenOctober, cache.get(GARDEN, october));
+        assertTrue(cache.getBookedSlots(GARDEN, date, date).isEmpty());
+        List<SlotDTO> booked = cache.getBookedSlots(MAIN, date, date);
+        assertEquals(1, booked.size());
+        assertEquals(42L, booked.get(0).getId());
+        assertEquals(0, cachedOctober.maskAt(date));
+    }
+
+    @Test
+    void closedDaysHaveNoAvailableSlots() {
+        SlotSchedule schedule = new SlotSchedule(SlotSchedule.DEFAULT_SLOTS, "", 60, "MONDAY", "2026-10-17");
+        Venues closedVenues = Venues.single(schedule);
+        Venue closed = closedVenues.getDefault();
+        MonthAvailabilityCache closedCache = new MonthAvailabilityCache(
+                new SlotAvailabilityIndex(null, closedVenues, WINDOW), 2);
+
+        LocalDate friday = LocalDate.of(2026, 10, 16);
+        LocalDate monday = LocalDate.of(2026, 10, 19);
+        List<SlotDTO> available = closedCache.getAvailableSlots(closed, friday, monday);
+
+        assertEquals(6, available.size());
+        assertEquals(List.of(friday, LocalDate.of(2026, 10, 18)),
+                available.stream().map(SlotDTO::getDate).distinct().toList());
+        assertArrayEquals(new int[]{0b111, 0, 0b111, 0}, closedCache.getAvailableMasks(closed, friday, monday));
+    }
+
+    @Test
+    void leastRecentlyUsedMonthIsEvicted() {
+        YearMonth september = YearMonth.of(2026, 9);
+        cache.get(MAIN, september);
+        cache.get(MAIN, YearMonth.of(2026, 10));
+        cache.get(MAIN, september);
+        cache.get(MAIN, YearMonth.of(2026, 11));
+
+        assertEquals(2, cache.size());
+        long misses = cache.getMissCount();
+        cache.get(MAIN, september);
+        assertEquals(misses, cache.getMissCount());
+    }
+}
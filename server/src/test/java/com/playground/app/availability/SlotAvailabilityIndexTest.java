@@ -0,0 +1,173 @@
+package com.playground.app.availability;
+
+import com.playground.app.exception.BookingOutOfRangeException;
+import com.playground.app.model.dto.SlotDTO;
+import com.playground.app.repository.SlotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotAvailabilityIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    private static final BookingWindow WINDOW = new BookingWindow(365, 730,
+            Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+    private static final Venues VENUES = new Venues("main,garden", new MockEnvironment()
+            .withProperty("venues.garden.slots", "")
+            .withProperty("venues.garden.opening-hours", "10:00-14:00"));
+    private static final Venue MAIN = VENUES.getDefault();
+    private static final Venue GARDEN = VENUES.resolve("garden");
+
+    private final SlotAvailabilityIndex index = new SlotAvailabilityIndex(null, VENUES, WINDOW);
+
+    @Test
+    void markAndUnmark() {
+        index.markBooked(MAIN, TODAY, 1, 11L);
+
+        assertTrue(index.isBooked(MAIN, TODAY, 1));
+        assertFalse(index.isBooked(MAIN, TODAY, 0));
+        assertEquals(List.of(11L), index.getBookedSlots(MAIN, TODAY, TODAY).stream().map(SlotDTO::getId).toList());
+        assertArrayEquals(new int[]{0b101}, index.getAvailableMasks(MAIN, TODAY, TODAY));
+
+        index.markFree(MAIN, TODAY, 1);
+
+        assertFalse(index.isBooked(MAIN, TODAY, 1));
+        assertTrue(index.getBookedSlots(MAIN, TODAY, TODAY).isEmpty());
+        assertEquals(3, index.getAvailableSlots(MAIN, TODAY, TODAY).size());
+    }
+
+    @Test
+    void growsTowardsLaterAndEarlierDays() {
+        LocalDate later = TODAY.plusDays(360);
+        LocalDate earlier = TODAY.minusDays(700);
+
+        index.markBooked(MAIN, TODAY, 0, 1L);
+        index.markBooked(MAIN, later, 2, 2L);
+        index.markBooked(MAIN, earlier, 1, 3L);
+
+        assertTrue(index.isBooked(MAIN, TODAY, 0));
+        assertTrue(index.isBooked(MAIN, later, 2));
+        assertTrue(index.isBooked(MAIN, earlier, 1));
+        assertEquals(List.of(3L, 1L, 2L),
+                index.getBookedSlots(MAIN, earlier, later).stream().map(SlotDTO::getId).toList());
+        assertArrayEquals(new int[]{0b001, 0b000}, index.getBookedMasks(MAIN, TODAY, TODAY.plusDays(1)));
+    }
+
+    @Test
+    void ignoresDaysOutsideTheBookingWindow() {
+        index.markBooked(MAIN, TODAY, 0, 1L);
+
+        assertDoesNotThrow(() -> index.markBooked(MAIN, LocalDate.of(9999, 12, 31), 0, 2L));
+        assertDoesNotThrow(() -> index.markBooked(MAIN, LocalDate.of(1000000, 1, 1), 0, 3L));
+        assertDoesNotThrow(() -> index.markBooked(MAIN, TODAY.minusDays(731), 0, 4L));
+
+        assertFalse(index.isBooked(MAIN, LocalDate.of(9999, 12, 31), 0));
+        assertFalse(index.isBooked(MAIN, TODAY.minusDays(731), 0));
+        assertFalse(index.isBooked(MAIN, TODAY.plusDays(366), 0));
+        assertTrue(index.isBooked(MAIN, TODAY, 0));
+    }
+
+    @Test
+    void warmUpSkipsSlotsOutsideTheBookingWindow() {
+        SlotRepository slotRepository = mock(SlotRepository.class);
+        when(slotRepository.findAllSlotKeys()).thenReturn(List.of(
+                new SlotDTO(1L, TODAY, 0, false, "main"),
+                new SlotDTO(2L, LocalDate.of(9999, 12, 31), 1, false, "main"),
+                new SlotDTO(3L, TODAY.minusDays(800), 9, false, "main"),
+                new SlotDTO(4L, TODAY.minusDays(800), 0, false, "attic")));
+        SlotAvailabilityIndex warmIndex = new SlotAvailabilityIndex(slotRepository, VENUES, WINDOW);
+
+        warmIndex.warmUp();
+
+        assertTrue(warmIndex.isBooked(MAIN, TODAY, 0));
+        assertFalse(warmIndex.isBooked(MAIN, LocalDate.of(9999, 12, 31), 1));
+    }
+
+    @Test
+    void venuesAreTrackedSeparately() {
+        index.markBooked(MAIN, TODAY, 1, 11L);
+        index.markBooked(GARDEN, TODAY, 3, 12L);
+
+        assertFalse(index.isBooked(GARDEN, TODAY, 1));
+        assertArrayEquals(new int[]{0b101}, index.getAvailableMasks(MAIN, TODAY, TODAY));
+        assertArrayEquals(new int[]{0b0111}, index.getAvailableMasks(GARDEN, TODAY, TODAY));
+        assertEquals(List.of("garden"), index.getBookedSlots(GARDEN, TODAY, TODAY).stream().map(SlotDTO::getVenue).toList());
+    }
+
+    @Test
+    void warmUpFailsOnBookingsThatDoNotFitTheLayout() {
+        SlotRepository slotRepository = mock(SlotRepository.class);
+        when(slotRepository.findAllSlotKeys()).thenReturn(List.of(
+                new SlotDTO(1L, TODAY, 0, false, "main"),
+                new SlotDTO(2L, TODAY.plusDays(3), 3, false, "main")));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> new SlotAvailabilityIndex(slotRepository, VENUES, WINDOW).warmUp());
+        assertTrue(error.getMessage().contains("main/" + TODAY.plusDays(3) + "/3"), error.getMessage());
+
+        when(slotRepository.findAllSlotKeys()).thenReturn(List.of(new SlotDTO(3L, TODAY, 0, false, "attic")));
+        assertThrows(IllegalStateException.class, () -> new SlotAvailabilityIndex(slotRepository, VENUES, WINDOW).warmUp());
+    }
+
+    @Test
+    void daysTheWindowHasPassedAreDroppedInsteadOfGrowingTheArrays() {
+        LocalDate[] today = {TODAY};
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return today[0].atStartOfDay().toInstant(ZoneOffset.UTC);
+            }
+        };
+        SlotAvailabilityIndex movingIndex = new SlotAvailabilityIndex(null, VENUES, new BookingWindow(365, 730, clock));
+
+        for (int year = 0; year < 10; year++) {
+            movingIndex.markBooked(MAIN, today[0], 0, 1L);
+            movingIndex.markBooked(MAIN, today[0].plusDays(365), 1, 2L);
+            today[0] = today[0].plusDays(365);
+        }
+
+        assertTrue(movingIndex.getCapacity(MAIN) <= 365 + 730 + 1, "capacity " + movingIndex.getCapacity(MAIN));
+        assertTrue(movingIndex.isBooked(MAIN, today[0], 1));
+        assertTrue(movingIndex.isBooked(MAIN, today[0].minusDays(365), 0));
+    }
+
+    @Test
+    void readRangesAreClampedToTheBookingWindow() {
+        assertEquals(new BookingWindow.Range(TODAY.plusDays(350), TODAY.plusDays(365)),
+                WINDOW.clamp(TODAY.plusDays(350), TODAY.plusDays(380)));
+        assertEquals(new BookingWindow.Range(TODAY.minusDays(730), TODAY.minusDays(720)),
+                WINDOW.clamp(TODAY.minusDays(740), TODAY.minusDays(720)));
+        assertNull(WINDOW.clamp(TODAY.plusDays(366), TODAY.plusDays(396)));
+        assertDoesNotThrow(() -> WINDOW.clamp(TODAY.minusDays(730), TODAY.plusDays(365)));
+        assertThrows(BookingOutOfRangeException.class, () -> WINDOW.clamp(TODAY.minusDays(731), TODAY.plusDays(365)));
+        assertThrows(BookingOutOfRangeException.class, () -> WINDOW.clamp(TODAY, TODAY.minusDays(1)));
+        assertThrows(BookingOutOfRangeException.class, () -> WINDOW.checkBookable(LocalDate.of(9999, 12, 31)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.playground.app.availability;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Claim throughput with every thread on its own slots, and with all of them fighting over one slot
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class SlotClaimGuardBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final Venue MAIN = Venues.single(SlotSchedule.withDefaults()).getDefault();
+
+    private final SlotClaimGuard guard = new SlotClaimGuard();
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ThreadSlots {
+
+        private LocalDate firstDate;
+        private int round;
+
+        @Setup
+        public void setUp(SlotClaimGuardBenchmark benchmark) {
+            // Ten thousand days per thread, so no two threads ever claim the same slot
+            firstDate = START.plusDays(benchmark.threads.getAndIncrement() * 10_000L);
+        }
+
+        LocalDate next() {
+            round = (round + 1) % 10_000;
+            return firstDate.plusDays(round);
+        }
+    }
+
+    @Benchmark
+    public boolean distinctSlots(ThreadSlots slots) {
+        LocalDate date = slots.next();
+        boolean claimed = guard.tryClaim(MAIN, date, 0);
+        guard.release(MAIN, date, 0);
+        return claimed;
+    }
+
+    @Benchmark
+    public boolean sameSlot() {
+        boolean claimed = guard.tryClaim(MAIN, START, 0);
+        if (claimed) {
+            guard.release(MAIN, START, 0);
+        }
+        return claimed;
+    }
+}
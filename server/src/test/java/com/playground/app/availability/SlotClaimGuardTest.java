@@ -0,0 +1,103 @@
+package com.playground.app.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotClaimGuardTest {
+
+    private static final int THREADS = 64;
+    private static final int ROUNDS = 2_000;
+    private static final Venue MAIN = Venues.single(SlotSchedule.withDefaults()).getDefault();
+
+    private final SlotClaimGuard guard = new SlotClaimGuard();
+
+    @Test
+    void claimIsExclusiveUntilReleased() {
+        LocalDate date = LocalDate.of(2026, 10, 17);
+
+        assertTrue(guard.tryClaim(MAIN, date, 2));
+        assertFalse(guard.tryClaim(MAIN, date, 2));
+        assertTrue(guard.tryClaim(MAIN, date, 1));
+        assertTrue(guard.tryClaim(MAIN, date.plusDays(1), 2));
+
+        guard.release(MAIN, date, 2);
+        assertTrue(guard.tryClaim(MAIN, date, 2));
+    }
+
+    @Test
+    void exactlyOneOfSixtyFourCompetingThreadsWinsEachSlot() throws Exception {
+        LocalDate saturday = LocalDate.of(2026, 10, 17);
+        AtomicInteger winners = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(round -> {
+            LocalDate date = saturday.plusWeeks(round);
+            if (guard.tryClaim(MAIN, date, 2)) {
+                winners.incrementAndGet();
+            } else {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(ROUNDS, winners.get());
+        assertEquals(ROUNDS * (THREADS - 1), rejected.get());
+    }
+
+    @Test
+    void claimsOnDifferentSlotsNeverConflict() throws Exception {
+        LocalDate start = LocalDate.of(2026, 10, 17);
+        AtomicInteger thread = new AtomicInteger();
+        ThreadLocal<Integer> threadIndex = ThreadLocal.withInitial(thread::getAndIncrement);
+        AtomicInteger winners = new AtomicInteger();
+
+        runConcurrently(round -> {
+            LocalDate date = start.plusDays((long) round * THREADS + threadIndex.get());
+            if (guard.tryClaim(MAIN, date, 0)) {
+                winners.incrementAndGet();
+                guard.release(MAIN, date, 0);
+            }
+        });
+
+        assertEquals(ROUNDS * THREADS, winners.get());
+    }
+
+    private void runConcurrently(RoundTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        task.run(round);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface RoundTask {
+        void run(int round);
+    }
+}
@@ -0,0 +1,152 @@
+package com.playground.app.availability;
+
+import com.playground.app.exception.SlotAlreadyBookedException;
+import com.playground.app.exception.TooManyRequestsException;
+import com.playground.app.model.dto.SlotDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotHoldRegistryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 20);
+    private static final Venue MAIN = Venues.single(SlotSchedule.withDefaults()).getDefault();
+
+    private final BookingVersion bookingVersion = new BookingVersion();
+    private SlotHoldRegistry holds;
+
+    @AfterEach
+    void tearDown() {
+        holds.shutdown();
+    }
+
+    @Test
+    void holdIsExclusiveToItsUserUntilReleased() {
+        holds = new SlotHoldRegistry(bookingVersion, 60_000, 3, 900_000);
+
+        holds.hold(MAIN, DATE, 1, "alice");
+
+        assertThrows(SlotAlreadyBookedException.class, () -> holds.hold(MAIN, DATE, 1, "bob"));
+        assertTrue(holds.isHeldByOther(MAIN, DATE, 1, "bob"));
+        assertFalse(holds.isHeldByOther(MAIN, DATE, 1, "alice"));
+
+        holds.release(MAIN, DATE, 1, "bob");
+        assertTrue(holds.isHeld(MAIN, DATE, 1));
+
+        holds.release(MAIN, DATE, 1, "alice");
+        assertFalse(holds.isHeld(MAIN, DATE, 1));
+        holds.hold(MAIN, DATE, 1, "bob");
+    }
+
+    @Test
+    void renewingAHoldKeepsItForTheSameUser() {
+        holds = new SlotHoldRegistry(bookingVersion, 60_000, 3, 900_000);
+
+        SlotHold first = holds.hold(MAIN, DATE, 0, "alice");
+        SlotHold renewed = holds.hold(MAIN, DATE, 0, "alice");
+
+        assertFalse(renewed.getExpiresAt().isBefore(first.getExpiresAt()));
+        assertEquals(1, holds.size());
+    }
+
+    @Test
+    void renewalsDoNotQueueAnotherExpiry() {
+        holds = new SlotHoldRegistry(bookingVersion, 60_000, 3, 900_000);
+
+        for (int i = 0; i < 100; i++) {
+            holds.hold(MAIN, DATE, 0, "alice");
+        }
+        holds.hold(MAIN, DATE, 1, "alice");
+
+        assertEquals(2, holds.getQueuedExpiryCount());
+    }
+
+    @Test
+    void expiredHoldsNoLongerCountTowardsTheUserLimit() throws InterruptedException {
+        holds = new SlotHoldRegistry(bookingVersion, 50, 1, 900_000);
+
+        holds.hold(MAIN, DATE, 0, "alice");
+        Thread.sleep(100);
+        holds.hold(MAIN, DATE, 0, "bob");
+
+        holds.hold(MAIN, DATE, 1, "alice");
+        assertThrows(TooManyRequestsException.class, () -> holds.hold(MAIN, DATE, 2, "alice"));
+    }
+
+    @Test
+    void aUserCanOnlyHoldAFewSlotsAtOnce() {
+        holds = new SlotHoldRegistry(bookingVersion, 60_000, 3, 900_000);
+        for (int slotNumber = 0; slotNumber < 3; slotNumber++) {
+            holds.hold(MAIN, DATE, slotNumber, "alice");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> holds.hold(MAIN, DATE.plusDays(1), 0, "alice"));
+        holds.hold(MAIN, DATE, 2, "alice");
+        holds.hold(MAIN, DATE.plusDays(1), 0, "bob");
+
+        holds.release(MAIN, DATE, 0, "alice");
+        holds.hold(MAIN, DATE.plusDays(1), 1, "alice");
+        assertEquals(4, holds.size());
+    }
+
+    @Test
+    void renewalsNeverKeepAHoldPastItsMaximumAge() throws InterruptedException {
+        holds = new SlotHoldRegistry(bookingVersion, 60_000, 3, 200);
+
+        SlotHold first = holds.hold(MAIN, DATE, 0, "alice");
+        Thread.sleep(50);
+        SlotHold renewed = holds.hold(MAIN, DATE, 0, "alice");
+
+        assertFalse(renewed.getExpiresAt().isAfter(first.getExpiresAt().plusMillis(10)));
+        Thread.sleep(250);
+        assertFalse(holds.isHeld(MAIN, DATE, 0));
+        holds.hold(MAIN, DATE, 0, "bob");
+    }
+
+    @Test
+    void expiredHoldsAreDroppedAndMoveTheBookingVersion() throws InterruptedException {
+        holds = new SlotHoldRegistry(bookingVersion, 50, 3, 900_000);
+        holds.start();
+
+        holds.hold(MAIN, DATE, 2, "alice");
+        long versionAfterHold = bookingVersion.current();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((holds.getExpiredCount() == 0 || bookingVersion.current() == versionAfterHold)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, holds.size());
+        assertEquals(1, holds.getExpiredCount());
+        assertTrue(bookingVersion.current() > versionAfterHold);
+        holds.hold(MAIN, DATE, 2, "bob");
+    }
+
+    @Test
+    void heldSlotsAreNotAvailable() {
+        holds = new SlotHoldRegistry(bookingVersion, 60_000, 3, 900_000);
+        holds.hold(MAIN, DATE, 1, "alice");
+        holds.hold(MAIN, DATE.plusDays(5), 0, "alice");
+
+        int[] masks = {0b111, 0b111};
+        holds.clearHeld(MAIN, masks, DATE);
+        assertArrayEquals(new int[]{0b101, 0b111}, masks);
+
+        List<SlotDTO> slots = new ArrayList<>(List.of(
+                new SlotDTO(null, DATE, 0, true),
+                new SlotDTO(null, DATE, 1, true),
+                new SlotDTO(null, DATE, 2, true)));
+        holds.removeHeld(MAIN, slots);
+        assertEquals(List.of(0, 2), slots.stream().map(SlotDTO::getSlotNumber).toList());
+    }
+}
@@ -0,0 +1,78 @@
+package com.playground.app.availability;
+
+import com.playground.app.exception.UnknownVenueException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotScheduleTest {
+
+    @Test
+    void defaultsMatchTheOriginalThreeWindows() {
+        SlotSchedule schedule = SlotSchedule.withDefaults();
+
+        assertEquals(3, schedule.getSlotsPerDay());
+        assertEquals(0b111, schedule.getFullMask());
+        assertEquals(LocalTime.of(8, 0), schedule.getStart(0));
+        assertEquals(LocalTime.of(13, 0), schedule.getStart(1));
+        assertEquals(LocalTime.of(17, 0), schedule.getEnd(1));
+        assertEquals(LocalTime.of(22, 0), schedule.getEnd(2));
+        assertTrue(schedule.isValidSlotNumber(2));
+        assertFalse(schedule.isValidSlotNumber(3));
+    }
+
+    @Test
+    void hourlySlotsAreGeneratedFromOpeningHours() {
+        SlotSchedule schedule = new SlotSchedule("", "08:00-22:00", 60, "", "");
+
+        assertEquals(14, schedule.getSlotsPerDay());
+        assertEquals(LocalTime.of(21, 0), schedule.getStart(13));
+        assertEquals(LocalTime.of(22, 0), schedule.getEnd(13));
+    }
+
+    @Test
+    void closedWeekdaysAndBlackoutDatesAreClosed() {
+        SlotSchedule schedule = new SlotSchedule(SlotSchedule.DEFAULT_SLOTS, "", 60, "monday, sunday", "2026-12-25");
+
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.SUNDAY), schedule.getClosedDays());
+        assertFalse(schedule.isOpen(LocalDate.of(2026, 10, 19)));
+        assertFalse(schedule.isOpen(LocalDate.of(2026, 12, 25)));
+        assertTrue(schedule.isOpen(LocalDate.of(2026, 12, 24)));
+    }
+
+    @Test
+    void overlappingOrOversizedLayoutsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SlotSchedule("08:00-12:00,11:00-13:00", "", 60, "", ""));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SlotSchedule("", "00:00-24:00", 30, "", ""));
+    }
+
+    @Test
+    void venuesOverrideTheSharedSchedule() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("schedule.closed-days", "SUNDAY")
+                .withProperty("venues.garden.slots", "")
+                .withProperty("venues.garden.opening-hours", "10:00-14:00");
+
+        Venues venues = new Venues("main, garden", environment);
+
+        assertEquals("main", venues.resolve(null).getId());
+        assertEquals(3, venues.resolve("main").getSchedule().getSlotsPerDay());
+        Venue garden = venues.resolve("garden");
+        assertEquals(4, garden.getSchedule().getSlotsPerDay());
+        assertEquals(List.of(DayOfWeek.SUNDAY), garden.getSchedule().getClosedDays());
+        assertTrue(venues.getDefault().slotKey(LocalDate.of(2026, 10, 20), 1)
+                != garden.slotKey(LocalDate.of(2026, 10, 20), 1));
+        assertThrows(UnknownVenueException.class, () -> venues.resolve("attic"));
+    }
+}
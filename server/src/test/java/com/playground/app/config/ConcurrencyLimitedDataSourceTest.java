@@ -0,0 +1,50 @@
+package com.playground.app.config;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    private final ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(h2(), 2, 50);
+
+    @Test
+    void permitsAreReturnedOnceWhenConnectionsClose() throws Exception {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        second.close();
+        assertEquals(2, dataSource.getAvailablePermits());
+        assertEquals(2, dataSource.getPeakInUse());
+    }
+
+    @Test
+    void connectionProxyAnswersForItself() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertEquals(connection, connection);
+            assertEquals(connection.hashCode(), connection.hashCode());
+            assertNotEquals(connection, connection.unwrap(JdbcConnection.class));
+            assertSame(connection, connection.unwrap(Connection.class));
+            assertTrue(connection.isWrapperFor(JdbcConnection.class));
+        }
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:concurrency-gate;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
@@ -0,0 +1,149 @@
+package com.playground.app.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playground.app.AppApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares throughput and p99 latency of an authenticated, DB-backed endpoint
+ * with platform request threads and with virtual threads. Runs against in-memory H2.
+ * Virtual threads must not make p99 worse, and the JDBC gate must never let more callers
+ * through than the pool has connections. Enable with {@code -DloadTest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+class VirtualThreadLoadTest {
+
+    private static final int REQUESTS = 5_000;
+    private static final int CONCURRENCY = 500;
+    // Headroom for run-to-run noise on a shared machine
+    private static final double P99_TOLERANCE = 1.25;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void virtualThreadsDoNotRegressTailLatency(TestReporter reporter) throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+        reporter.publishEntry(platform.mode(), platform.toString());
+        reporter.publishEntry(virtual.mode(), virtual.toString());
+
+        assertTrue(virtual.p99Millis() <= platform.p99Millis() * P99_TOLERANCE,
+                "virtual-thread p99 regressed: " + virtual + " vs " + platform);
+        assertTrue(virtual.peakConnections() <= virtual.poolSize(),
+                "JDBC gate let " + virtual.peakConnections() + " callers through a pool of " + virtual.poolSize());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AppApplication.class).run(
+                "--spring.profiles.active=h2",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.threads.virtual.enabled=" + virtualThreads);
+
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+            post(baseUrl + "/users/register", "{\"username\":\"loadtest\",\"password\":\"secret123\",\"email\":\"load@test.com\"}", null);
+            JsonNode login = objectMapper.readTree(
+                    post(baseUrl + "/users/login", "{\"username\":\"loadtest\",\"password\":\"secret123\"}", null));
+            String token = login.get("token").asText();
+            URI target = URI.create(baseUrl + "/reservations/user/" + login.get("id").asLong());
+
+            // Warm-up, then measure
+            load(target, token, REQUESTS / 10);
+            Result result = load(target, token, REQUESTS);
+
+            // Only the virtual-thread setup has a gate; platform threads are bounded by Tomcat's pool
+            DataSource dataSource = context.getBean(DataSource.class);
+            int peakConnections = virtualThreads
+                    ? dataSource.unwrap(ConcurrencyLimitedDataSource.class).getPeakInUse()
+                    : 0;
+            return result.measured(mode, peakConnections, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+        } finally {
+            context.close();
+        }
+    }
+
+    private Result load(URI target, String token, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        HttpRequest request = HttpRequest.newBuilder(target).header("Authorization", "Bearer " + token).GET().build();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                inFlight.acquire();
+                executor.execute(() -> {
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - begin;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(0, failures.get());
+        Arrays.sort(latencies);
+        return new Result(null, requests / (elapsed / 1e9),
+                latencies[(int) (requests * 0.50)] / 1e6, latencies[(int) (requests * 0.99)] / 1e6, 0, 0);
+    }
+
+    private String post(String url, String json, String token) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis,
+                          int peakConnections, int poolSize) {
+
+        Result measured(String name, int peak, int pool) {
+            return new Result(name, throughput, p50Millis, p99Millis, peak, pool);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s threads: %8.0f req/s, p50 %6.2f ms, p99 %6.2f ms, gate peak %d of %d connections",
+                    mode, throughput, p50Millis, p99Millis, peakConnections, poolSize);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.playground.app.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.playground.app.availability.BookingVersion;
+import com.playground.app.availability.BookingWindow;
+import com.playground.app.availability.MonthAvailabilityCache;
+import com.playground.app.availability.SlotAvailabilityIndex;
+import com.playground.app.availability.SlotClaimGuard;
+import com.playground.app.availability.SlotHoldRegistry;
+import com.playground.app.availability.SlotSchedule;
+import com.playground.app.availability.Venue;
+import com.playground.app.availability.Venues;
+import com.playground.app.model.entity.Reservation;
+import com.playground.app.model.entity.User;
+import com.playground.app.outbox.OutboxPublisher;
+import com.playground.app.repository.ReservationRepository;
+import com.playground.app.repository.SlotRepository;
+import com.playground.app.repository.UserRepository;
+import com.playground.app.service.implementation.ReservationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReservationControllerTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(7);
+    private static final Venues VENUES = Venues.single(SlotSchedule.withDefaults());
+    private static final Venue MAIN = VENUES.getDefault();
+
+    private final SlotAvailabilityIndex availabilityIndex = mock(SlotAvailabilityIndex.class);
+    private final SlotHoldRegistry holds = new SlotHoldRegistry(new BookingVersion(), 60_000, 3, 900_000);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(new User()));
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Reservation> reservations = invocation.getArgument(0);
+            for (int i = 0; i < reservations.size(); i++) {
+                reservations.get(i).setId(i + 1L);
+            }
+            return reservations;
+        });
+
+        ReservationServiceImpl reservationService = new ReservationServiceImpl(userRepository, reservationRepository,
+                mock(SlotRepository.class), availabilityIndex, mock(MonthAvailabilityCache.class),
+                VENUES, new BookingWindow(365, 730, Clock.systemDefaultZone()),
+                new SlotClaimGuard(), holds, mock(ApplicationEventPublisher.class), mock(OutboxPublisher.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ReservationController(reservationService, objectMapper, new BookingVersion(), null, VENUES))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        holds.shutdown();
+    }
+
+    @Test
+    void mixedBatchAnswersWithAStatusPerDistinctSlot() throws Exception {
+        when(availabilityIndex.isBooked(MAIN, DAY, 1)).thenReturn(true);
+
+        mockMvc.perform(bulk("{\"slots\": [" + slot(DAY, 0) + "," + slot(DAY, 0) + "," + slot(DAY, 1) + ","
+                        + slot(DAY, 9) + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("BOOKED"))
+                .andExpect(jsonPath("$[0].reservationId").value(1))
+                .andExpect(jsonPath("$[1].status").value("CONFLICT"))
+                .andExpect(jsonPath("$[2].status").value("INVALID"));
+    }
+
+    @Test
+    void recurrenceIsExpandedIntoItems() throws Exception {
+        mockMvc.perform(bulk("{\"recurrence\": {\"startDate\": \"" + DAY + "\", \"endDate\": \"" + DAY.plusDays(6)
+                        + "\", \"slotNumber\": 2, \"daysOfWeek\": [\"" + DAY.getDayOfWeek() + "\"]}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].date").value(DAY.toString()))
+                .andExpect(jsonPath("$[0].status").value("BOOKED"));
+    }
+
+    @Test
+    void nullSlotEntryIsABadRequest() throws Exception {
+        mockMvc.perform(bulk("{\"slots\": [" + slot(DAY, 0) + ", null]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void moreSlotsThanTheCapIsABadRequest() throws Exception {
+        StringJoiner slots = new StringJoiner(",", "{\"slots\": [", "]}");
+        for (int i = 0; i < 201; i++) {
+            slots.add(slot(DAY, 0));
+        }
+
+        mockMvc.perform(bulk(slots.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void malformedPageCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/reservations/page").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static MockHttpServletRequestBuilder bulk(String body) {
+        return post("/api/reservations/bulk")
+                .principal(new UsernamePasswordAuthenticationToken("alice", null, List.of()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    private static String slot(LocalDate date, int slotNumber) {
+        return "{\"date\": \"" + date + "\", \"slotNumber\": " + slotNumber + "}";
+    }
+}
@@ -0,0 +1,59 @@
+package com.playground.app.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playground.app.availability.BookingVersion;
+import com.playground.app.availability.SlotSchedule;
+import com.playground.app.availability.Venue;
+import com.playground.app.availability.Venues;
+import com.playground.app.idempotency.IdempotencyStore;
+import com.playground.app.model.dto.ReservationResponseDTO;
+import com.playground.app.model.entity.Gender;
+import com.playground.app.model.entity.Reservation;
+import com.playground.app.model.entity.Slot;
+import com.playground.app.model.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationMappingBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int reservationCount;
+
+    private ReservationController controller;
+    private List<Reservation> reservations;
+
+    @Setup
+    public void setUp() {
+        controller = new ReservationController(null, new ObjectMapper(), new BookingVersion(),
+                new IdempotencyStore(1, 0, 0), Venues.single(SlotSchedule.withDefaults()));
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("organiser");
+
+        reservations = new ArrayList<>(reservationCount);
+        for (int i = 0; i < reservationCount; i++) {
+            Slot slot = new Slot((long) i, LocalDate.of(2026, 1, 1).plusDays(i / 3), i % 3, Venue.DEFAULT_ID, null);
+            reservations.add(new Reservation((long) i, user, slot, Gender.MIXED, "pop", "balloons", true, null));
+        }
+    }
+
+    @Benchmark
+    public void convertToResponseDTO(Blackhole blackhole) {
+        for (Reservation reservation : reservations) {
+            ReservationResponseDTO dto = controller.convertToResponseDTO(reservation);
+            blackhole.consume(dto);
+        }
+    }
+}
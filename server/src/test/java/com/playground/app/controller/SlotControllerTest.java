@@ -0,0 +1,170 @@
+package com.playground.app.controller;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.playground.app.availability.BookingVersion;
+import com.playground.app.availability.Venue;
+import com.playground.app.availability.Venues;
+import com.playground.app.event.SlotEventBroadcaster;
+import com.playground.app.model.dto.SlotDTO;
+import com.playground.app.model.dto.SlotMaskDTO;
+import com.playground.app.service.SlotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SlotControllerTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 10, 1);
+    private static final LocalDate END = LocalDate.of(2026, 10, 3);
+
+    private static final Venues VENUES = new Venues("main,garden", new MockEnvironment()
+            .withProperty("venues.garden.slots", "")
+            .withProperty("venues.garden.opening-hours", "10:00-14:00"));
+    private static final Venue MAIN = VENUES.getDefault();
+
+    private final SlotService slotService = mock(SlotService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new SlotController(slotService, null, new BookingVersion(), VENUES))
+                .setMessageConverters(new ByteArrayHttpMessageConverter(),
+                        new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json()
+                                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build()))
+                .build();
+        when(slotService.getBookedMasksForDateRange(MAIN, START, END)).thenAnswer(invocation -> new int[]{0b000, 0b101, 0b111});
+        when(slotService.getAvailableMasksForDateRange(MAIN, START, END)).thenAnswer(invocation -> new int[]{0b111, 0b010, 0b000});
+        when(slotService.getAvailableSlotsForDateRange(MAIN, START, END))
+                .thenReturn(List.of(new SlotDTO(null, START, 0, true)));
+    }
+
+    @Test
+    void streamsAreCountedPerUserAndOtherwisePerAddress() {
+        SlotEventBroadcaster broadcaster = mock(SlotEventBroadcaster.class);
+        SlotController controller = new SlotController(slotService, broadcaster, new BookingVersion(), VENUES);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.9");
+
+        controller.streamSlotChanges(request, new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        controller.streamSlotChanges(request, null);
+
+        verify(broadcaster).subscribe("user:alice");
+        verify(broadcaster).subscribe("address:10.0.0.9");
+    }
+
+    @Test
+    void defaultRepresentationIsTheSlotList() throws Exception {
+        mockMvc.perform(get("/api/slots/available").param("startDate", "2026-10-01").param("endDate", "2026-10-03"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].slotNumber").value(0));
+
+        mockMvc.perform(get("/api/slots/available").param("startDate", "2026-10-01").param("endDate", "2026-10-03")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].date").value("2026-10-01"));
+    }
+
+    @Test
+    void maskRepresentationPacksOneDigitPerDay() throws Exception {
+        mockMvc.perform(get("/api/slots/available").param("startDate", "2026-10-01").param("endDate", "2026-10-03")
+                        .accept(SlotController.SLOT_MASK_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.start").value("2026-10-01"))
+                .andExpect(jsonPath("$.slotsPerDay").value(3))
+                .andExpect(jsonPath("$.mask").value("720"));
+
+        mockMvc.perform(get("/api/slots/booked").param("startDate", "2026-10-01").param("endDate", "2026-10-03")
+                        .accept(SlotController.SLOT_MASK_JSON_VALUE))
+                .andExpect(jsonPath("$.mask").value("057"));
+    }
+
+    @Test
+    void binaryRepresentationPacksThreeBitsPerDay() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/slots/booked")
+                        .param("startDate", "2026-10-01").param("endDate", "2026-10-03")
+                        .accept(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ByteBuffer body = ByteBuffer.wrap(result.getResponse().getContentAsByteArray());
+        assertEquals(START.toEpochDay(), body.getInt());
+        assertEquals(3, body.getInt());
+        assertEquals(3, body.getInt());
+        int bits = (body.get() & 0xFF) | (body.get() & 0xFF) << 8;
+        assertEquals(0b111_101_000, bits);
+        assertEquals(0, body.remaining());
+    }
+
+    @Test
+    void hourlyMasksUseFixedWidthHexDigits() {
+        SlotMaskDTO mask = SlotMaskDTO.of(START, 14, new int[]{0x3FFF, 0x0001});
+        assertEquals("3fff0001", mask.getMask());
+
+        ByteBuffer body = ByteBuffer.wrap(SlotMaskDTO.toBinary(START, 14, new int[]{0x3FFF, 0x0001}));
+        body.position(12);
+        assertEquals(0xFF, body.get() & 0xFF);
+        assertEquals(0x3F | 0x40, body.get() & 0xFF);
+        assertEquals(0, body.get());
+        assertEquals(0, body.get());
+        assertEquals(0, body.remaining());
+    }
+
+    @Test
+    void scheduleDescribesTheRequestedVenue() throws Exception {
+        mockMvc.perform(get("/api/slots/schedule"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.venue").value("main"))
+                .andExpect(jsonPath("$.slots.length()").value(3))
+                .andExpect(jsonPath("$.slots[1].start").value("13:00:00"));
+
+        mockMvc.perform(get("/api/slots/schedule").param("venue", "garden"))
+                .andExpect(jsonPath("$.venue").value("garden"))
+                .andExpect(jsonPath("$.slots.length()").value(4));
+
+        mockMvc.perform(get("/api/slots/venues"))
+                .andExpect(jsonPath("$[*].venue").value(contains("main", "garden")));
+
+        mockMvc.perform(get("/api/slots/schedule").param("venue", "attic"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void matchingEtagIsAnsweredWithoutReadingSlots() throws Exception {
+        String etag = mockMvc.perform(get("/api/slots/booked").param("startDate", "2026-10-01").param("endDate", "2026-10-03"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/slots/booked").param("startDate", "2026-10-01").param("endDate", "2026-10-03")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(slotService, times(1)).getBookedSlotsForDateRange(any(), any(), any());
+        verify(slotService, never()).getSlotsBetweenDates(any(), any());
+    }
+}
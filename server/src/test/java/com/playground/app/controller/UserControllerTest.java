@@ -0,0 +1,157 @@
+package com.playground.app.controller;
+
+import com.playground.app.exception.TooManyRequestsException;
+import com.playground.app.security.BoundedPasswordEncoder;
+import com.playground.app.security.JwtTokenProvider;
+import com.playground.app.security.TokenDenyList;
+import com.playground.app.security.TokenVerificationCache;
+import com.playground.app.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerTest {
+
+    private final TokenDenyList tokenDenyList = new TokenDenyList();
+    private final CountDownLatch hashing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BoundedPasswordEncoder passwordEncoder =
+            new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, meterRegistry);
+    private JwtTokenProvider tokenProvider;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "6Kyr0b1SQgePbkAHQbW45InZ14xIlWQG");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 3_600_000L);
+        tokenProvider.init();
+
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+        authenticationProvider.setUserDetailsService(username -> {
+            throw new UsernameNotFoundException(username);
+        });
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new UserController(mock(UserService.class), new ProviderManager(authenticationProvider),
+                        tokenProvider, tokenDenyList, new TokenVerificationCache(100)))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordEncoder.shutdown();
+    }
+
+    @Test
+    void unknownUserIsToldToRetryWhileThePasswordPoolIsSaturated() throws Exception {
+        CompletableFuture.runAsync(() -> passwordEncoder.encode("running"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> passwordEncoder.encode("queued"));
+        while (meterRegistry.get("auth.password.hashing.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        mockMvc.perform(post("/api/users/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"nobody\", \"password\": \"secret\"}"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void wrappedPoolRejectionIsUnwrappedToTooManyRequests() throws Exception {
+        AuthenticationManager wrapping = authentication -> {
+            throw new InternalAuthenticationServiceException("rejected",
+                    new TooManyRequestsException("Too many sign-in attempts in progress, please retry shortly"));
+        };
+        MockMvc wrappingMvc = MockMvcBuilders
+                .standaloneSetup(new UserController(mock(UserService.class), wrapping, tokenProvider,
+                        tokenDenyList, new TokenVerificationCache(100)))
+                .build();
+
+        wrappingMvc.perform(post("/api/users/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"nobody\", \"password\": \"secret\"}"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void unknownUserIsUnauthorizedWhileThePasswordPoolHasRoom() throws Exception {
+        release.countDown();
+
+        mockMvc.perform(post("/api/users/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"nobody\", \"password\": \"secret\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logoutRevokesTheBearerToken() throws Exception {
+        String token = tokenProvider.generateToken("organiser", 1L, List.of());
+        Claims claims = tokenProvider.getAllClaimsFromToken(token);
+
+        mockMvc.perform(post("/api/users/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        assertTrue(tokenDenyList.isRevoked(claims.getId()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "Bearer", "Bearer ", "Basic b3JnYW5pc2VyOnNlY3JldA==", "Bearer not-a-jwt"})
+    void malformedAuthorizationHeaderIsABadRequest(String authorization) throws Exception {
+        mockMvc.perform(post("/api/users/logout").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, tokenDenyList.size());
+    }
+
+    @Test
+    void missingAuthorizationHeaderIsABadRequest() throws Exception {
+        mockMvc.perform(post("/api/users/logout"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.playground.app.event;
+
+import com.playground.app.exception.TooManyRequestsException;
+import com.playground.app.model.dto.SlotDeltaDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotEventBroadcasterTest {
+
+    private static final SlotDeltaDTO DELTA = new SlotDeltaDTO(LocalDate.of(2026, 10, 1), 0, true, "main");
+
+    private final SlotEventBroadcaster broadcaster = new SlotEventBroadcaster(60_000, 3, 2, 4, 50);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void subscriptionsAreCappedPerClientAndInTotal() {
+        broadcaster.register(new SseEmitter(), "10.0.0.1");
+        broadcaster.register(new SseEmitter(), "10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class, () -> broadcaster.register(new SseEmitter(), "10.0.0.1"));
+        broadcaster.register(new SseEmitter(), "10.0.0.2");
+        assertThrows(TooManyRequestsException.class, () -> broadcaster.register(new SseEmitter(), "10.0.0.3"));
+        assertEquals(3, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void droppingAStalledSubscriberFreesItsClientSlot() throws InterruptedException {
+        CountingEmitter healthy = new CountingEmitter();
+        broadcaster.register(healthy, "10.0.0.1");
+        broadcaster.register(new BlockingEmitter(), "10.0.0.2");
+        broadcaster.register(new BlockingEmitter(), "10.0.0.2");
+
+        broadcaster.broadcast(DELTA);
+        Thread.sleep(100);
+        broadcaster.broadcast(DELTA);
+
+        assertEquals(1, broadcaster.getSubscriberCount());
+        assertEquals(2, broadcaster.getDroppedCount());
+        assertTrue(healthy.awaitSent(2));
+        assertDoesNotThrow(() -> broadcaster.register(new SseEmitter(), "10.0.0.2"));
+    }
+
+    @Test
+    void subscriberThatFallsTooFarBehindIsDropped() {
+        broadcaster.register(new BlockingEmitter(), "10.0.0.1");
+
+        // One delta is taken by the blocked write, four fill the buffer, the sixth overflows it
+        for (int i = 0; i < 6; i++) {
+            broadcaster.broadcast(DELTA);
+        }
+
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertEquals(1, broadcaster.getDroppedCount());
+    }
+
+    private static final class CountingEmitter extends SseEmitter {
+
+        private final AtomicInteger sent = new AtomicInteger();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.incrementAndGet();
+        }
+
+        boolean awaitSent(int expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.get() < expected && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return sent.get() == expected;
+        }
+    }
+
+    private final class BlockingEmitter extends SseEmitter {
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
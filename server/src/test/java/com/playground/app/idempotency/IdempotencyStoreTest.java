@@ -0,0 +1,124 @@
+package com.playground.app.idempotency;
+
+import com.playground.app.exception.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyStoreTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void replaysTheStoredResultWithoutRunningTheActionAgain() {
+        IdempotencyStore store = new IdempotencyStore(100, 60_000, 1_000);
+
+        IdempotencyStore.Result<Integer> first = store.execute("alice", "k1", "body", calls::incrementAndGet);
+        IdempotencyStore.Result<Integer> retry = store.execute("alice", "k1", "body", calls::incrementAndGet);
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(1, retry.value());
+        assertEquals(1, calls.get());
+        assertEquals(1, store.getReplayCount());
+    }
+
+    @Test
+    void keysAreScopedPerUser() {
+        IdempotencyStore store = new IdempotencyStore(100, 60_000, 1_000);
+
+        store.execute("alice", "k1", "body", calls::incrementAndGet);
+        IdempotencyStore.Result<Integer> other = store.execute("bob", "k1", "body", calls::incrementAndGet);
+
+        assertFalse(other.replayed());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void rejectsAKeyReusedForADifferentRequest() {
+        IdempotencyStore store = new IdempotencyStore(100, 60_000, 1_000);
+
+        store.execute("alice", "k1", "body", calls::incrementAndGet);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> store.execute("alice", "k1", "other body", calls::incrementAndGet));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failedAttemptsCanBeRetriedWithTheSameKey() {
+        IdempotencyStore store = new IdempotencyStore(100, 60_000, 1_000);
+
+        assertThrows(IllegalStateException.class, () -> store.execute("alice", "k1", "body", () -> {
+            throw new IllegalStateException("slot taken");
+        }));
+        IdempotencyStore.Result<Integer> retry = store.execute("alice", "k1", "body", calls::incrementAndGet);
+
+        assertFalse(retry.replayed());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void expiredKeysRunTheActionAgain() {
+        IdempotencyStore store = new IdempotencyStore(100, 0, 1_000);
+
+        store.execute("alice", "k1", "body", calls::incrementAndGet);
+        IdempotencyStore.Result<Integer> retry = store.execute("alice", "k1", "body", calls::incrementAndGet);
+
+        assertFalse(retry.replayed());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void concurrentRetryWaitsForTheRunningAttempt() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(100, 60_000, 5_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<IdempotencyStore.Result<Integer>> first = executor.submit(() -> store.execute("alice", "k1", "body", () -> {
+                started.countDown();
+                await(release);
+                return calls.incrementAndGet();
+            }));
+            started.await();
+            Future<IdempotencyStore.Result<Integer>> retry = executor.submit(
+                    () -> store.execute("alice", "k1", "body", calls::incrementAndGet));
+            release.countDown();
+
+            assertEquals(1, first.get().value());
+            assertTrue(retry.get().replayed());
+            assertEquals(1, retry.get().value());
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void doesNotKeepResultsWhenFull() {
+        IdempotencyStore store = new IdempotencyStore(1, 60_000, 1_000);
+
+        store.execute("alice", "k1", "body", calls::incrementAndGet);
+        store.execute("alice", "k2", "body", calls::incrementAndGet);
+
+        assertEquals(1, store.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
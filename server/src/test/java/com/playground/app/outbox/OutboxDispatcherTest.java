@@ -0,0 +1,161 @@
+package com.playground.app.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.playground.app.model.entity.OutboxEvent;
+import com.playground.app.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the dispatcher against the migrated schema on H2 with a stub handler
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final StubHandler handler = new StubHandler();
+    private TransactionTemplate transactionTemplate;
+    private OutboxPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        publisher = new OutboxPublisher(outboxEventRepository, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void deliversCommittedEventsAndDeletesThem() throws Exception {
+        ReservationEvent payload = new ReservationEvent(7L, 3L, LocalDate.of(2026, 10, 20), 1, "main");
+        transactionTemplate.executeWithoutResult(status -> publisher.publish(ReservationEvent.CREATED, 7L, payload));
+
+        assertEquals(1, dispatcher(10, 0).dispatchBatch());
+
+        assertEquals(1, handler.received.size());
+        OutboxMessage message = handler.received.get(0);
+        assertEquals(ReservationEvent.CREATED, message.eventType());
+        assertEquals(7L, message.aggregateId());
+        assertEquals(1, message.attempt());
+        assertEquals(payload, objectMapper.readValue(message.payload(), ReservationEvent.class));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void ignoresEventsOfRolledBackTransactions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            publisher.publish(ReservationEvent.CREATED, 7L, new ReservationEvent(7L, 3L, LocalDate.of(2026, 10, 20), 1, "main"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, dispatcher(10, 0).dispatchBatch());
+        assertTrue(handler.received.isEmpty());
+    }
+
+    @Test
+    void redeliversFailedEventsUntilTheHandlerSucceeds() {
+        transactionTemplate.executeWithoutResult(status ->
+                publisher.publish(ReservationEvent.CANCELLED, 7L, new ReservationEvent(7L, 3L, LocalDate.of(2026, 10, 20), 1, "main")));
+        OutboxDispatcher dispatcher = dispatcher(10, 0);
+
+        handler.failuresLeft = 2;
+        dispatcher.dispatchBatch();
+        dispatcher.dispatchBatch();
+
+        OutboxEvent pending = outboxEventRepository.findAll().get(0);
+        assertEquals(2, pending.getAttempts());
+        assertTrue(pending.getLastError().contains("stub failure"));
+
+        dispatcher.dispatchBatch();
+        assertEquals(List.of(1, 2, 3), handler.received.stream().map(OutboxMessage::attempt).toList());
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(1, dispatcher.getDeliveredCount());
+        assertEquals(2, dispatcher.getFailedCount());
+    }
+
+    @Test
+    void waitsForTheBackoffBeforeRetrying() {
+        transactionTemplate.executeWithoutResult(status ->
+                publisher.publish(ReservationEvent.CREATED, 7L, new ReservationEvent(7L, 3L, LocalDate.of(2026, 10, 20), 1, "main")));
+        OutboxDispatcher dispatcher = dispatcher(10, 60_000);
+
+        handler.failuresLeft = 1;
+        dispatcher.dispatchBatch();
+
+        assertEquals(0, dispatcher.dispatchBatch());
+        assertEquals(1, handler.received.size());
+    }
+
+    @Test
+    void takesAtMostOneBatchPerTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long id = 1; id <= 5; id++) {
+                publisher.publish(ReservationEvent.CREATED, id, new ReservationEvent(id, 3L, LocalDate.of(2026, 10, 20), 0, "main"));
+            }
+        });
+        OutboxDispatcher dispatcher = dispatcher(2, 0);
+
+        assertEquals(2, dispatcher.dispatchBatch());
+        assertEquals(2, dispatcher.dispatchBatch());
+        assertEquals(1, dispatcher.dispatchBatch());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), handler.received.stream().map(OutboxMessage::aggregateId).toList());
+    }
+
+    private OutboxDispatcher dispatcher(int batchSize, long backoffMillis) {
+        return new OutboxDispatcher(outboxEventRepository, List.of(handler), transactionTemplate,
+                false, batchSize, 1_000, backoffMillis, backoffMillis);
+    }
+
+    private static class StubHandler implements OutboxHandler {
+
+        private final List<OutboxMessage> received = new ArrayList<>();
+        private int failuresLeft;
+
+        @Override
+        public boolean supports(String eventType) {
+            return eventType.startsWith("reservation.");
+        }
+
+        @Override
+        public void handle(OutboxMessage message) {
+            received.add(message);
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("stub failure");
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.playground.app.querylog;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryLoggingDataSourceTest {
+
+    private final JdbcDataSource h2 = new JdbcDataSource();
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+    private QueryLog queryLog;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        h2.setURL("jdbc:h2:mem:query-log;DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists account (id int primary key, secret varchar(50))");
+            statement.execute("delete from account");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queryLog != null) {
+            queryLog.shutdown();
+        }
+    }
+
+    @Test
+    void logsSlowStatementsWithRedactedParameters() throws Exception {
+        try (Connection connection = dataSource(0, 0.0, true).getConnection();
+             PreparedStatement insert = connection.prepareStatement("insert into account (id, secret) values (?, ?)")) {
+            insert.setInt(1, 1);
+            insert.setString(2, "hunter2");
+            insert.executeUpdate();
+        }
+
+        String line = awaitLines(1).get(0);
+        assertTrue(line.startsWith("slow=true elapsed_ms="), line);
+        assertTrue(line.contains("params=[<redacted>, <redacted>]"), line);
+        assertTrue(line.endsWith("sql=\"insert into account (id, secret) values (?, ?)\""), line);
+        assertFalse(line.contains("hunter2"), line);
+    }
+
+    @Test
+    void logsParameterValuesWhenNotRedacted() throws Exception {
+        try (Connection connection = dataSource(0, 0.0, false).getConnection();
+             PreparedStatement select = connection.prepareStatement("select * from account where id = ? and secret = ?")) {
+            select.setInt(1, 7);
+            select.setNull(2, java.sql.Types.VARCHAR);
+            try (ResultSet ignored = select.executeQuery()) {
+                // only executed for the log line
+            }
+        }
+
+        assertTrue(awaitLines(1).get(0).contains("params=[7, NULL]"));
+    }
+
+    @Test
+    void fastStatementsAreOnlyLoggedWhenSampled() throws Exception {
+        try (Connection connection = dataSource(60_000, 0.0, true).getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("select 1");
+        }
+        queryLog.shutdown();
+
+        try (Connection connection = dataSource(60_000, 1.0, true).getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("select 2");
+        }
+
+        String line = awaitLines(1).get(0);
+        assertTrue(line.startsWith("slow=false"), line);
+        assertTrue(line.endsWith("sql=\"select 2\""), line);
+        assertEquals(1, lines.size());
+    }
+
+    @Test
+    void batchesAreLoggedOnceWithTheirSize() throws Exception {
+        try (Connection connection = dataSource(0, 0.0, false).getConnection();
+             PreparedStatement insert = connection.prepareStatement("insert into account (id, secret) values (?, ?)")) {
+            for (int id = 1; id <= 3; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, "s" + id);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        String line = awaitLines(1).get(0);
+        assertTrue(line.contains(" batch=3 "), line);
+        assertFalse(line.contains("params="), line);
+        assertEquals(1, lines.size());
+    }
+
+    @Test
+    void proxiesAnswerIdentityMethodsForThemselves() throws Exception {
+        try (Connection connection = dataSource(60_000, 0.0, true).getConnection();
+             PreparedStatement select = connection.prepareStatement("select 1")) {
+            assertEquals(connection, connection);
+            assertEquals(select, select);
+            assertEquals(connection.hashCode(), connection.hashCode());
+            assertNotEquals(connection, connection.unwrap(JdbcConnection.class));
+            assertSame(select, select.unwrap(PreparedStatement.class));
+            assertTrue(connection.isWrapperFor(JdbcConnection.class));
+        }
+    }
+
+    @Test
+    void dropsEntriesInsteadOfBlockingWhenTheQueueIsFull() throws Exception {
+        queryLog = new QueryLog(0, 0.0, true, 1, lines::add);
+        QueryLoggingDataSource dataSource = new QueryLoggingDataSource(h2, queryLog);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("select 1");
+            statement.execute("select 2");
+            statement.execute("select 3");
+        }
+
+        assertEquals(2, queryLog.getDroppedCount());
+        assertTrue(lines.isEmpty());
+    }
+
+    private QueryLoggingDataSource dataSource(long slowThresholdMillis, double sampleRate, boolean redact) {
+        queryLog = new QueryLog(slowThresholdMillis, sampleRate, redact, 16, lines::add);
+        queryLog.start();
+        return new QueryLoggingDataSource(h2, queryLog);
+    }
+
+    private List<String> awaitLines(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (lines.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,91 @@
+package com.playground.app.registration;
+
+import com.playground.app.exception.UserAlreadyExistsException;
+import com.playground.app.model.dto.UserRegistrationDTO;
+import com.playground.app.repository.UserRepository;
+import com.playground.app.service.implementation.UserServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RegisteredIdentifiersTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private RegisteredIdentifiers registeredIdentifiers;
+    private UserServiceImpl userService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        registeredIdentifiers = new RegisteredIdentifiers(userRepository, 1_000, 0.01);
+        registeredIdentifiers.warmUp();
+        userService = new UserServiceImpl(userRepository, new BCryptPasswordEncoder(4), null,
+                registeredIdentifiers, null, null);
+        userService.registerUser(registration("alice", "alice@example.com"));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void unknownNamesAreAnsweredWithoutQueries() {
+        for (int i = 0; i < 200; i++) {
+            userService.existsByUsername("organiser" + i);
+        }
+
+        assertTrue(userService.existsByUsername("alice"));
+        assertTrue(userService.existsByEmail("alice@example.com"));
+        assertFalse(userService.existsByEmail("bob@example.com"));
+        // Two real lookups, plus at most a few false positives among the 200 misses
+        assertTrue(statistics.getPrepareStatementCount() <= 2 + 10, "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void duplicateRegistrationIsRejectedByTheUniqueConstraints() {
+        UserAlreadyExistsException username = assertThrows(UserAlreadyExistsException.class,
+                () -> userService.registerUser(registration("alice", "other@example.com")));
+        UserAlreadyExistsException email = assertThrows(UserAlreadyExistsException.class,
+                () -> userService.registerUser(registration("other", "alice@example.com")));
+
+        assertEquals("Username is already taken!", username.getMessage());
+        assertEquals("Email is already in use!", email.getMessage());
+        assertEquals(0, statistics.getQueryExecutionCount());
+    }
+
+    private static UserRegistrationDTO registration(String username, String email) {
+        UserRegistrationDTO dto = new UserRegistrationDTO();
+        dto.setUsername(username);
+        dto.setEmail(email);
+        dto.setPassword("secret");
+        return dto;
+    }
+}
@@ -0,0 +1,100 @@
+package com.playground.app.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the migrations against a database created by ddl-auto from the entities as they were
+ * before Flyway: IDENTITY ids and Hibernate-generated constraint names, adopted as version 1.
+ */
+class BaselineMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() +
+                ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // What ddl-auto: update produced for the original entities
+        jdbcTemplate.execute("create table \"user\" (id bigint generated by default as identity, creation_date timestamp(6), " +
+                "email varchar(255) not null, password varchar(255) not null, username varchar(255) not null, primary key (id))");
+        jdbcTemplate.execute("create table \"slot\" (slot_id bigint generated by default as identity, date date, " +
+                "slot_number integer, primary key (slot_id))");
+        jdbcTemplate.execute("create table \"reservation\" (bring_own_food boolean not null, creation_date timestamp(6), " +
+                "reservation_id bigint generated by default as identity, slot_id bigint unique, user_id bigint, " +
+                "decoration_style varchar(255), gender varchar(255) check (gender in ('BOY','GIRL','MIXED')), " +
+                "music_type varchar(255), primary key (reservation_id))");
+        jdbcTemplate.execute("alter table if exists \"slot\" add constraint UKmd2ni5ccqgf7iuyxqbqfyuqmc unique (date, slot_number)");
+        jdbcTemplate.execute("alter table if exists \"user\" add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username)");
+        jdbcTemplate.execute("alter table if exists \"user\" add constraint UKob8kqyqqgmefl0aco34akdtpe unique (email)");
+        jdbcTemplate.execute("alter table if exists \"reservation\" add constraint FKrea93581tgkq61mdl13hehami " +
+                "foreign key (user_id) references \"user\"");
+        jdbcTemplate.execute("alter table if exists \"reservation\" add constraint FKpb4wq4d3tamhf3sqw2ruxgyrs " +
+                "foreign key (slot_id) references \"slot\"");
+
+        jdbcTemplate.update("insert into \"user\" (id, email, password, username) values (7, 'a@b.c', 'x', 'alice')");
+        jdbcTemplate.update("insert into \"slot\" (slot_id, date, slot_number) values (120, date '2026-10-20', 1)");
+        jdbcTemplate.update("insert into \"reservation\" (reservation_id, bring_own_food, slot_id, user_id) values (3, false, 120, 7)");
+    }
+
+    @Test
+    void idsMoveOntoSequencesPastTheExistingRows() {
+        migrate();
+
+        assertPooledBlockStartsAbove("user_seq", 7);
+        assertPooledBlockStartsAbove("slot_seq", 120);
+        assertPooledBlockStartsAbove("reservation_seq", 3);
+        Integer identities = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.columns where is_identity = 'YES' " +
+                        "and table_name in ('user', 'slot', 'reservation')", Integer.class);
+        assertEquals(0, identities);
+    }
+
+    @Test
+    void slotKeyIsReplacedWhateverItsGeneratedName() {
+        migrate();
+
+        assertEquals(0L, countUniqueKeys("date,slot_number"));
+        assertEquals(1L, countUniqueKeys("date,slot_number,venue"));
+        assertEquals("main", jdbcTemplate.queryForObject("select venue from \"slot\" where slot_id = 120", String.class));
+
+        // The same date and slot number can now be booked at another venue
+        jdbcTemplate.update("insert into \"slot\" (slot_id, date, slot_number, venue) values (121, date '2026-10-20', 1, 'garden')");
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:com/playground/app/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private long countUniqueKeys(String columns) {
+        return jdbcTemplate.queryForList(
+                "select listagg(kcu.column_name, ',') within group (order by kcu.column_name) " +
+                        "from information_schema.table_constraints tc " +
+                        "join information_schema.key_column_usage kcu on kcu.constraint_name = tc.constraint_name " +
+                        "where tc.constraint_type = 'UNIQUE' and tc.table_name = 'slot' group by tc.constraint_name",
+                String.class).stream().filter(columns::equals).count();
+    }
+
+    // Hibernate's pooled optimizer hands out the 50 ids ending at the sequence value
+    private void assertPooledBlockStartsAbove(String sequence, long maxId) {
+        Long next = jdbcTemplate.queryForObject("select nextval('" + sequence + "')", Long.class);
+        assertTrue(next - 49 > maxId, sequence + " would reuse existing ids, next value " + next);
+    }
+}
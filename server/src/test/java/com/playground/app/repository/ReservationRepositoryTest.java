@@ -0,0 +1,226 @@
+package com.playground.app.repository;
+
+import com.playground.app.exception.InvalidCursorException;
+import com.playground.app.model.dto.ReservationCursor;
+import com.playground.app.model.dto.ReservationResponseDTO;
+import com.playground.app.model.dto.UserResponseDTO;
+import com.playground.app.model.entity.Gender;
+import com.playground.app.model.entity.Reservation;
+import com.playground.app.model.entity.Slot;
+import com.playground.app.model.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class ReservationRepositoryTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 10, 1);
+    private static final LocalDate END = START.plusDays(4);
+    private static final String MAIN = "main";
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User alice;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        alice = persistUser("alice");
+        User bob = persistUser("bobby");
+        for (int day = 0; day < 5; day++) {
+            persistReservation(alice, START.plusDays(day), 2);
+            persistReservation(bob, START.plusDays(day), 0);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findResponsesByUserIdIsASingleStatement() {
+        List<ReservationResponseDTO> responses = reservationRepository.findResponsesByUserId(alice.getId());
+
+        assertEquals(5, responses.size());
+        assertEquals("alice", responses.get(0).getUserName());
+        assertEquals(START, responses.get(0).getDate());
+        assertEquals(2, responses.get(0).getSlotNumber());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findAllResponsesIsASingleStatement() {
+        List<ReservationResponseDTO> responses = reservationRepository.findAllResponses();
+
+        assertEquals(10, responses.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void userSummaryLoadsNoEntities() {
+        UserResponseDTO response = userRepository.findResponseById(alice.getId()).orElseThrow();
+        List<Long> reservationIds = reservationRepository.findIdsByUserId(alice.getId());
+
+        assertEquals("alice", response.getUsername());
+        assertEquals(5, response.getReservationCount());
+        assertEquals(5, reservationIds.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void cursorRoundTripsThroughItsToken() {
+        ReservationCursor cursor = new ReservationCursor(START.plusDays(3), 2);
+
+        ReservationCursor decoded = ReservationCursor.decode(cursor.encode());
+
+        assertEquals(START.plusDays(3), decoded.getDate());
+        assertEquals(2, decoded.getSlotNumber());
+        assertThrows(InvalidCursorException.class, () -> ReservationCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void pageBoundaryCanFallBetweenSlotsOfOneDay() {
+        Slice<Reservation> first = reservationRepository.findPageAfter(MAIN, START, -1, END, PageRequest.of(0, 1));
+        Slot last = first.getContent().get(0).getSlot();
+        Slice<Reservation> second = reservationRepository.findPageAfter(MAIN, 
+                last.getDate(), last.getSlotNumber(), END, PageRequest.of(0, 1));
+
+        assertEquals(START, last.getDate());
+        assertEquals(0, last.getSlotNumber());
+        assertTrue(first.hasNext());
+        assertEquals(START, second.getContent().get(0).getSlot().getDate());
+        assertEquals(2, second.getContent().get(0).getSlot().getSlotNumber());
+    }
+
+    @Test
+    void pagesWalkEveryReservationOnceInOrder() {
+        List<String> seen = new ArrayList<>();
+        ReservationCursor cursor = new ReservationCursor(START, -1);
+        Slice<Reservation> page;
+        do {
+            page = reservationRepository.findPageAfter(MAIN, cursor.getDate(), cursor.getSlotNumber(), END,
+                    PageRequest.of(0, 3));
+            for (Reservation reservation : page) {
+                seen.add(reservation.getSlot().getDate() + "#" + reservation.getSlot().getSlotNumber());
+            }
+            Slot last = page.getContent().get(page.getNumberOfElements() - 1).getSlot();
+            cursor = ReservationCursor.decode(new ReservationCursor(last.getDate(), last.getSlotNumber()).encode());
+        } while (page.hasNext());
+
+        assertEquals(10, seen.size());
+        assertEquals(START + "#0", seen.get(0));
+        assertEquals(START + "#2", seen.get(1));
+        assertEquals(END + "#2", seen.get(9));
+    }
+
+    @Test
+    void lastPageHasNoNext() {
+        Slice<Reservation> page = reservationRepository.findPageAfter(MAIN, END, 0, END, PageRequest.of(0, 5));
+
+        assertEquals(1, page.getNumberOfElements());
+        assertEquals(2, page.getContent().get(0).getSlot().getSlotNumber());
+        assertFalse(page.hasNext());
+        assertTrue(reservationRepository.findPageAfter(MAIN, END, 2, END, PageRequest.of(0, 5)).isEmpty());
+    }
+
+    @Test
+    void sameSlotCanBeBookedAtEachVenue() {
+        entityManager.persist(newReservation(entityManager.find(User.class, alice.getId()), START, 0, "garden"));
+        entityManager.flush();
+
+        Slice<Reservation> main = reservationRepository.findPageAfter(MAIN, START, -1, END, PageRequest.of(0, 20));
+        Slice<Reservation> garden = reservationRepository.findPageAfter("garden", START, -1, END, PageRequest.of(0, 20));
+
+        assertEquals(10, main.getNumberOfElements());
+        assertEquals(1, garden.getNumberOfElements());
+        assertEquals("garden", garden.getContent().get(0).getSlot().getVenue());
+        assertEquals(List.of("garden", MAIN), reservationRepository.findResponsesByUserId(alice.getId()).stream()
+                .limit(2).map(ReservationResponseDTO::getVenue).sorted().toList());
+    }
+
+    @Test
+    void saveAllBatchesSlotAndReservationInserts() {
+        int count = 200;
+        User organiser = entityManager.find(User.class, alice.getId());
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            reservations.add(newReservation(organiser, START.plusDays(30 + i), 1));
+        }
+        statistics.clear();
+
+        reservationRepository.saveAll(reservations);
+        reservationRepository.flush();
+
+        // Two inserts per reservation, plus sequence calls, would be well over 2 statements each without batching
+        double statementsPerReservation = (double) statistics.getPrepareStatementCount() / count;
+        assertEquals(2L * count, statistics.getEntityInsertCount());
+        assertTrue(statementsPerReservation < 0.1,
+                "expected batched inserts, got " + statementsPerReservation + " statements per reservation");
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        return entityManager.persist(user);
+    }
+
+    private void persistReservation(User user, LocalDate date, int slotNumber) {
+        entityManager.persist(newReservation(user, date, slotNumber));
+    }
+
+    private static Reservation newReservation(User user, LocalDate date, int slotNumber) {
+        return newReservation(user, date, slotNumber, MAIN);
+    }
+
+    private static Reservation newReservation(User user, LocalDate date, int slotNumber, String venue) {
+        Slot slot = new Slot();
+        slot.setDate(date);
+        slot.setSlotNumber(slotNumber);
+        slot.setVenue(venue);
+
+        Reservation reservation = new Reservation();
+        reservation.setUser(user);
+        reservation.setSlot(slot);
+        reservation.setGender(Gender.MIXED);
+        slot.setReservation(reservation);
+        return reservation;
+    }
+}
@@ -0,0 +1,71 @@
+package com.playground.app.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations on H2 in PostgreSQL mode and checks with EXPLAIN
+ * that the main read queries are answered from an index rather than a table scan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class SchemaIndexTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void reservationsByUserAvoidTableScan() {
+        // H2 indexes foreign keys on its own, Postgres does not, so also check the migration created one
+        Integer indexes = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.indexes where index_name = 'idx_reservation_user_id'",
+                Integer.class);
+        assertTrue(indexes != null && indexes > 0, "idx_reservation_user_id is missing");
+        assertNoTableScan("select r.reservation_id from \"reservation\" r where r.user_id = 1");
+    }
+
+    @Test
+    void slotDateRangeUsesDateSlotNumberVenueIndex() {
+        assertPlanUses("uk_slot_date_slot_number_venue",
+                "select s.slot_id from \"slot\" s where s.date between date '2026-10-01' and date '2026-10-31'");
+    }
+
+    @Test
+    void slotToReservationJoinUsesSlotIdIndex() {
+        assertPlanUses("uk_reservation_slot_id",
+                "select r.reservation_id from \"slot\" s join \"reservation\" r on r.slot_id = s.slot_id " +
+                        "where s.date between date '2026-10-01' and date '2026-10-31'");
+    }
+
+    private void assertPlanUses(String index, String sql) {
+        String plan = explain(sql);
+        assertTrue(plan.contains(index), "expected " + index + " in plan:\n" + plan);
+    }
+
+    private void assertNoTableScan(String sql) {
+        String plan = explain(sql);
+        assertFalse(plan.contains("tablescan"), "unexpected table scan in plan:\n" + plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class).toLowerCase();
+    }
+}
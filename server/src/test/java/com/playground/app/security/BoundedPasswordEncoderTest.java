@@ -0,0 +1,79 @@
+package com.playground.app.security;
+
+import com.playground.app.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BoundedPasswordEncoder encoder =
+            new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void rejectsOnceThePoolAndQueueAreFull() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while (meterRegistry.get("auth.password.hashing.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> encoder.encode("third"));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS).endsWith("first"));
+        assertTrue(queued.get(5, TimeUnit.SECONDS).endsWith("second"));
+    }
+
+    @Test
+    void legacyHashesMatchAndAreUpgraded() {
+        PasswordEncoder delegating = PasswordEncoders.create(PasswordEncoders.BCRYPT, 10);
+        String legacy = new BCryptPasswordEncoder(10).encode("secret");
+        String current = delegating.encode("secret");
+
+        assertTrue(delegating.matches("secret", legacy));
+        assertTrue(delegating.upgradeEncoding(legacy));
+        assertFalse(delegating.upgradeEncoding(current));
+        assertTrue(PasswordEncoders.create(PasswordEncoders.PBKDF2, 10).upgradeEncoding(current));
+        assertTrue(PasswordEncoders.create(PasswordEncoders.BCRYPT, 12).upgradeEncoding(current));
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.playground.app.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private JwtTokenProvider tokenProvider;
+    private TokenVerificationCache tokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "6Kyr0b1SQgePbkAHQbW45InZ14xIlWQG");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 3_600_000L);
+        tokenProvider.init();
+
+        token = tokenProvider.generateToken("organiser", 1L, AUTHORITIES);
+
+        tokenCache = new TokenVerificationCache(10_000);
+        Claims claims = tokenProvider.getAllClaimsFromToken(token);
+        tokenCache.put(token, tokenProvider.getUserFromClaims(claims), claims.getExpiration(), tokenCache.getGeneration());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken("organiser", 1L, AUTHORITIES);
+    }
+
+    @Benchmark
+    public Claims verifyToken() {
+        return tokenProvider.getAllClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public UserDetails cachedVerification() {
+        return tokenCache.get(token);
+    }
+}
@@ -0,0 +1,54 @@
+package com.playground.app.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded, so the scores read as logins per second per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class PasswordLoginBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({PasswordEncoders.BCRYPT, PasswordEncoders.PBKDF2})
+    private String algorithm;
+
+    @Param({"10", "12"})
+    private int bcryptStrength;
+
+    private PasswordEncoder encoder;
+    private BoundedPasswordEncoder boundedEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = PasswordEncoders.create(algorithm, bcryptStrength);
+        boundedEncoder = new BoundedPasswordEncoder(encoder, 1, 16, new SimpleMeterRegistry());
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        boundedEncoder.shutdown();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean loginOnHashingPool() {
+        return boundedEncoder.matches(PASSWORD, hash);
+    }
+}
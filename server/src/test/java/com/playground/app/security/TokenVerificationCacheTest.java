@@ -0,0 +1,57 @@
+package com.playground.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TokenVerificationCacheTest {
+
+    private static final Date EXPIRATION = new Date(System.currentTimeMillis() + 3_600_000);
+
+    private final TokenVerificationCache cache = new TokenVerificationCache(2);
+
+    @Test
+    void fullCacheMakesRoomForNewTokens() {
+        put("a", "alice");
+        put("b", "bob");
+        cache.get("a");
+        put("c", "carol");
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"), "least recently used token should have been evicted");
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    void expiredTokensAreNotServed() {
+        cache.put("a", user("alice"), new Date(System.currentTimeMillis() - 1), cache.getGeneration());
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void userVerifiedBeforeAnEvictionIsNotCached() {
+        long generation = cache.getGeneration();
+        cache.evictUser("alice");
+        cache.put("a", user("alice"), EXPIRATION, generation);
+
+        assertNull(cache.get("a"));
+    }
+
+    private void put(String token, String username) {
+        cache.put(token, user(username), EXPIRATION, cache.getGeneration());
+    }
+
+    private static UserDetails user(String username) {
+        return new User(username, "", List.of());
+    }
+}
@@ -0,0 +1,220 @@
+package com.playground.app.service.implementation;
+
+import com.playground.app.availability.BookingVersion;
+import com.playground.app.availability.BookingWindow;
+import com.playground.app.availability.MonthAvailabilityCache;
+import com.playground.app.availability.SlotAvailabilityIndex;
+import com.playground.app.availability.SlotClaimGuard;
+import com.playground.app.availability.SlotHoldRegistry;
+import com.playground.app.availability.Venue;
+import com.playground.app.availability.Venues;
+import com.playground.app.exception.InvalidReservationRequestException;
+import com.playground.app.model.dto.BulkReservationItemDTO;
+import com.playground.app.model.dto.BulkReservationRequestDTO;
+import com.playground.app.model.dto.SlotDTO;
+import com.playground.app.model.entity.Reservation;
+import com.playground.app.model.entity.User;
+import com.playground.app.outbox.OutboxPublisher;
+import com.playground.app.repository.ReservationRepository;
+import com.playground.app.repository.SlotRepository;
+import com.playground.app.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReservationServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(7);
+    private static final Venues VENUES = new Venues("main,garden", new MockEnvironment());
+    private static final Venue MAIN = VENUES.getDefault();
+
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final SlotRepository slotRepository = mock(SlotRepository.class);
+    private final SlotAvailabilityIndex availabilityIndex = mock(SlotAvailabilityIndex.class);
+    private final SlotHoldRegistry holds = new SlotHoldRegistry(new BookingVersion(), 60_000, 3, 900_000);
+    private final AtomicLong ids = new AtomicLong();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private LocalDate concurrentlyBooked;
+    private ReservationServiceImpl reservationService;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        User alice = new User();
+        alice.setUsername("alice");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Reservation> reservations = invocation.getArgument(0);
+            batchSizes.add(reservations.size());
+            for (Reservation reservation : reservations) {
+                if (reservation.getSlot().getDate().equals(concurrentlyBooked)) {
+                    throw new DataIntegrityViolationException("uk_slot_date_slot_number");
+                }
+            }
+            reservations.forEach(reservation -> reservation.setId(ids.incrementAndGet()));
+            return reservations;
+        });
+
+        reservationService = new ReservationServiceImpl(userRepository, reservationRepository, slotRepository,
+                availabilityIndex, mock(MonthAvailabilityCache.class), VENUES,
+                new BookingWindow(365, 730, Clock.systemDefaultZone()), new SlotClaimGuard(), holds,
+                mock(ApplicationEventPublisher.class), mock(OutboxPublisher.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        holds.shutdown();
+    }
+
+    @Test
+    void eachSlotOfAMixedBatchGetsItsOwnStatus() {
+        when(availabilityIndex.isBooked(MAIN, DAY.plusDays(1), 1)).thenReturn(true);
+        holds.hold(MAIN, DAY.plusDays(2), 2, "bob");
+
+        List<BulkReservationItemDTO> items = reservationService.createReservations(request(
+                new SlotDTO(null, DAY, 0, true),
+                new SlotDTO(null, LocalDate.now().minusDays(1), 0, true),
+                new SlotDTO(null, DAY, 7, true),
+                new SlotDTO(null, DAY, null, true),
+                new SlotDTO(null, DAY.plusDays(1), 1, true),
+                new SlotDTO(null, DAY.plusDays(2), 2, true),
+                new SlotDTO(null, LocalDate.now().plusYears(2), 0, true),
+                new SlotDTO(null, DAY, 0, true, "attic")), "alice");
+
+        assertEquals(List.of(BulkReservationItemDTO.Status.BOOKED, BulkReservationItemDTO.Status.INVALID,
+                BulkReservationItemDTO.Status.INVALID, BulkReservationItemDTO.Status.INVALID,
+                BulkReservationItemDTO.Status.CONFLICT, BulkReservationItemDTO.Status.CONFLICT,
+                BulkReservationItemDTO.Status.INVALID, BulkReservationItemDTO.Status.INVALID), statuses(items));
+        assertNotNull(items.get(0).getReservationId());
+        assertNull(items.get(4).getReservationId());
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    @Test
+    void duplicateSlotsAreBookedOnce() {
+        List<BulkReservationItemDTO> items = reservationService.createReservations(request(
+                new SlotDTO(null, DAY, 0, true),
+                new SlotDTO(null, DAY, 0, true, "main"),
+                new SlotDTO(null, DAY, 1, true),
+                new SlotDTO(null, DAY, 0, true, "garden")), "alice");
+
+        assertEquals(3, items.size());
+        assertEquals(List.of("main", "main", "garden"), items.stream().map(BulkReservationItemDTO::getVenue).toList());
+        assertEquals(List.of(3), batchSizes);
+    }
+
+    @Test
+    void moreSlotsThanTheCapAreRejectedBeforeAnySlotIsChecked() {
+        SlotDTO[] slots = new SlotDTO[201];
+        Arrays.fill(slots, new SlotDTO(null, DAY, 0, true));
+
+        assertThrows(InvalidReservationRequestException.class,
+                () -> reservationService.createReservations(request(slots), "alice"));
+        verifyNoInteractions(availabilityIndex, reservationRepository);
+    }
+
+    @Test
+    void nullSlotEntryIsRejected() {
+        assertThrows(InvalidReservationRequestException.class, () -> reservationService.createReservations(
+                request(new SlotDTO(null, DAY, 0, true), null), "alice"));
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void recurrenceExpandsToEveryMatchingWeekday() {
+        LocalDate monday = DAY.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        BulkReservationRequestDTO request = request(new SlotDTO(null, monday, 2, true));
+        request.setRecurrence(recurrence(monday, monday.plusDays(13), 2));
+
+        List<BulkReservationItemDTO> items = reservationService.createReservations(request, "alice");
+
+        assertEquals(List.of(monday, monday.plusDays(2), monday.plusDays(7), monday.plusDays(9)),
+                items.stream().map(BulkReservationItemDTO::getDate).toList());
+        assertEquals(List.of(4), batchSizes);
+    }
+
+    @Test
+    void recurrenceBeyondTheCapIsRejected() {
+        BulkReservationRequestDTO request = request();
+        request.setRecurrence(recurrence(DAY, DAY.plusYears(3), 0));
+
+        assertThrows(InvalidReservationRequestException.class,
+                () -> reservationService.createReservations(request, "alice"));
+    }
+
+    @Test
+    void bookingReleasesTheCallersOwnHolds() {
+        holds.hold(MAIN, DAY, 0, "alice");
+
+        reservationService.createReservations(request(new SlotDTO(null, DAY, 0, true)), "alice");
+
+        assertFalse(holds.isHeld(MAIN, DAY, 0));
+    }
+
+    @Test
+    void concurrentInsertOnlyFailsTheSlotItHitAndDoesNotReleaseItsHold() {
+        concurrentlyBooked = DAY.plusDays(1);
+        holds.hold(MAIN, concurrentlyBooked, 0, "alice");
+
+        List<BulkReservationItemDTO> items = reservationService.createReservations(request(
+                new SlotDTO(null, DAY, 0, true),
+                new SlotDTO(null, concurrentlyBooked, 0, true),
+                new SlotDTO(null, DAY.plusDays(2), 0, true)), "alice");
+
+        assertEquals(List.of(BulkReservationItemDTO.Status.BOOKED, BulkReservationItemDTO.Status.CONFLICT,
+                BulkReservationItemDTO.Status.BOOKED), statuses(items));
+        assertNotNull(items.get(2).getReservationId());
+        assertEquals(List.of(3, 1, 1, 1), batchSizes);
+        verify(reservationRepository, times(4)).saveAll(anyList());
+        assertTrue(holds.isHeld(MAIN, concurrentlyBooked, 0));
+    }
+
+    private static BulkReservationRequestDTO request(SlotDTO... slots) {
+        BulkReservationRequestDTO request = new BulkReservationRequestDTO();
+        request.setSlots(new ArrayList<>(Arrays.asList(slots)));
+        return request;
+    }
+
+    private static BulkReservationRequestDTO.Recurrence recurrence(LocalDate startDate, LocalDate endDate, int slotNumber) {
+        BulkReservationRequestDTO.Recurrence recurrence = new BulkReservationRequestDTO.Recurrence();
+        recurrence.setStartDate(startDate);
+        recurrence.setEndDate(endDate);
+        recurrence.setSlotNumber(slotNumber);
+        recurrence.setDaysOfWeek(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY));
+        return recurrence;
+    }
+
+    private static List<BulkReservationItemDTO.Status> statuses(List<BulkReservationItemDTO> items) {
+        return items.stream().map(BulkReservationItemDTO::getStatus).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.playground.app.service.implementation;
+
+import com.playground.app.availability.BookingVersion;
+import com.playground.app.availability.BookingWindow;
+import com.playground.app.availability.MonthAvailabilityCache;
+import com.playground.app.availability.SlotAvailabilityIndex;
+import com.playground.app.availability.SlotHoldRegistry;
+import com.playground.app.availability.SlotSchedule;
+import com.playground.app.availability.Venue;
+import com.playground.app.availability.Venues;
+import com.playground.app.model.dto.SlotDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotAvailabilityBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+
+    @Param({"7", "31", "365"})
+    private int days;
+
+    /**
+     * Share of (date, slotNumber) pairs that are booked
+     */
+    @Param({"0.1", "0.5", "0.9"})
+    private double density;
+
+    /**
+     * Three fixed windows, or hourly slots from 08:00 to 22:00
+     */
+    @Param({"default", "hourly"})
+    private String layout;
+
+    private SlotServiceImpl slotService;
+    private Venue venue;
+    private LocalDate end;
+
+    @Setup
+    public void setUp() {
+        SlotSchedule schedule = layout.equals("hourly")
+                ? new SlotSchedule("", "08:00-22:00", 60, "", "")
+                : SlotSchedule.withDefaults();
+        BookingWindow window = new BookingWindow(365, 0,
+                Clock.fixed(START.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        Venues venues = Venues.single(schedule);
+        venue = venues.getDefault();
+        SlotAvailabilityIndex index = new SlotAvailabilityIndex(null, venues, window);
+        SplittableRandom random = new SplittableRandom(42);
+        long slotId = 1;
+        for (int day = 0; day < 365; day++) {
+            for (int slotNumber = 0; slotNumber < schedule.getSlotsPerDay(); slotNumber++) {
+                if (random.nextDouble() < density) {
+                    index.markBooked(venue, START.plusDays(day), slotNumber, slotId++);
+                }
+            }
+        }
+        slotService = new SlotServiceImpl(null, new MonthAvailabilityCache(index, 24), index,
+                new SlotHoldRegistry(new BookingVersion(), 300_000, 3, 900_000), window);
+        end = START.plusDays(days - 1);
+    }
+
+    @Benchmark
+    public List<SlotDTO> availableSlots() {
+        return slotService.getAvailableSlotsForDateRange(venue, START, end);
+    }
+
+    @Benchmark
+    public List<SlotDTO> bookedSlots() {
+        return slotService.getBookedSlotsForDateRange(venue, START, end);
+    }
+
+    @Benchmark
+    public int[] availableMasks() {
+        return slotService.getAvailableMasksForDateRange(venue, START, end);
+    }
+}
@@ -0,0 +1,61 @@
+package com.playground.app.service.implementation;
+
+import com.playground.app.availability.BookingVersion;
+import com.playground.app.availability.BookingWindow;
+import com.playground.app.availability.MonthAvailabilityCache;
+import com.playground.app.availability.SlotAvailabilityIndex;
+import com.playground.app.availability.SlotHoldRegistry;
+import com.playground.app.availability.SlotSchedule;
+import com.playground.app.availability.Venue;
+import com.playground.app.availability.Venues;
+import com.playground.app.exception.BookingOutOfRangeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 1);
+    private static final LocalDate HORIZON = TODAY.plusDays(365);
+    private static final BookingWindow WINDOW = new BookingWindow(365, 730,
+            Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    private static final Venues VENUES = Venues.single(SlotSchedule.withDefaults());
+    private static final Venue MAIN = VENUES.getDefault();
+
+    private final SlotAvailabilityIndex index = new SlotAvailabilityIndex(null, VENUES, WINDOW);
+    private final SlotHoldRegistry holds = new SlotHoldRegistry(new BookingVersion(), 60_000, 3, 900_000);
+    private final SlotServiceImpl slotService = new SlotServiceImpl(null, new MonthAvailabilityCache(index, 2),
+            index, holds, WINDOW);
+
+    @AfterEach
+    void tearDown() {
+        holds.shutdown();
+    }
+
+    @Test
+    void rangesCrossingTheHorizonShowOnlyTheBookableDays() {
+        index.markBooked(MAIN, HORIZON, 1, 5L);
+        LocalDate start = HORIZON.minusDays(1);
+        LocalDate end = HORIZON.plusDays(2);
+
+        assertArrayEquals(new int[]{0, 0b010, 0, 0}, slotService.getBookedMasksForDateRange(MAIN, start, end));
+        int open = MAIN.getSchedule().isOpen(start) ? 0b111 : 0;
+        int openAtHorizon = MAIN.getSchedule().isOpen(HORIZON) ? 0b101 : 0;
+        assertArrayEquals(new int[]{open, openAtHorizon, 0, 0}, slotService.getAvailableMasksForDateRange(MAIN, start, end));
+        assertEquals(1, slotService.getBookedSlotsForDateRange(MAIN, start, end).size());
+        assertTrue(slotService.getAvailableSlotsForDateRange(MAIN, start, end).stream()
+                .noneMatch(slot -> slot.getDate().isAfter(HORIZON)));
+
+        assertTrue(slotService.getAvailableSlotsForDateRange(MAIN, HORIZON.plusDays(1), HORIZON.plusDays(30)).isEmpty());
+        assertArrayEquals(new int[30], slotService.getBookedMasksForDateRange(MAIN, HORIZON.plusDays(1), HORIZON.plusDays(30)));
+        assertThrows(BookingOutOfRangeException.class, () -> slotService.getBookedSlotsForDateRange(MAIN, end, start));
+    }
+}